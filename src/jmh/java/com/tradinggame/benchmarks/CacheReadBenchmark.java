@@ -0,0 +1,66 @@
+package com.tradinggame.benchmarks;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.tradinggame.clients.BinanceApiClient;
+import com.tradinggame.clients.MappedCandleStore;
+import com.tradinggame.dtos.PriceData;
+
+/**
+ * Reads of the cached BTCUSDC history (cache/BTCUSDC, relative to the working directory).
+ * The setup read migrates any legacy JSON days, so only binary cache reads are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheReadBenchmark {
+    static final String SYMBOL = "BTCUSDC";
+    static final LocalDate FROM = LocalDate.of(2025, 3, 7);
+    static final LocalDate TO = LocalDate.of(2025, 7, 4);
+
+    private BinanceApiClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        client = new BinanceApiClient(SYMBOL);
+        List<PriceData> prices = client.getHistoricalPrices(FROM, TO);
+        if (prices.isEmpty()) {
+            throw new IllegalStateException("No cached " + SYMBOL + " prices; run from the project root");
+        }
+    }
+
+    @Benchmark
+    public List<PriceData> readDay() throws IOException {
+        return client.getHistoricalPrices(TO);
+    }
+
+    @Benchmark
+    public List<PriceData> readRange() throws IOException {
+        return client.getHistoricalPrices(FROM, TO);
+    }
+
+    @Benchmark
+    public double mappedScan() throws IOException {
+        MappedCandleStore store = MappedCandleStore.open(SYMBOL, FROM, TO);
+        double sum = 0;
+        for (int i = 0; i < store.size(); i++) {
+            sum += store.getClose(i);
+        }
+        return sum;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.tradinggame.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.PriceSeries;
+import com.tradinggame.indicators.IndicatorEngine;
+import com.tradinggame.indicators.StreamingIndicators;
+import com.tradinggame.indicators.TechnicalIndicators;
+
+/**
+ * Indicator series over a whole history, as the chart needs them: one value per candle.
+ * The *Windows benchmarks evaluate TechnicalIndicators on the window ending at every
+ * candle (the chart's original approach), the others stream each candle once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int candles;
+
+    private PriceSeries prices;
+
+    @Setup
+    public void setUp() {
+        prices = randomWalk(candles, 42);
+    }
+
+    @Benchmark
+    public void rsiWindows(Blackhole bh) {
+        for (int i = 0; i < prices.size(); i++) {
+            bh.consume(TechnicalIndicators.calculateRSI(prices.view(Math.max(0, i - 14), i + 1), 14));
+        }
+    }
+
+    @Benchmark
+    public void rsiStreaming(Blackhole bh) {
+        StreamingIndicators.RSI rsi = new StreamingIndicators.RSI(14);
+        for (int i = 0; i < prices.size(); i++) {
+            bh.consume(rsi.update(prices.getClose(i)));
+        }
+    }
+
+    @Benchmark
+    public void bollingerWindows(Blackhole bh) {
+        for (int i = 19; i < prices.size(); i++) {
+            bh.consume(TechnicalIndicators.calculateBollingerBands(prices.view(i - 19, i + 1), 20, 2));
+        }
+    }
+
+    @Benchmark
+    public void bollingerStreaming(Blackhole bh) {
+        StreamingIndicators.Bollinger bollinger = new StreamingIndicators.Bollinger(20, 2);
+        for (int i = 0; i < prices.size(); i++) {
+            bollinger.update(prices.getClose(i));
+            bh.consume(bollinger.getMiddle());
+        }
+    }
+
+    @Benchmark
+    public void atrPercentWindows(Blackhole bh) {
+        for (int i = 0; i < prices.size(); i++) {
+            bh.consume(TechnicalIndicators.calculateATRPercent(prices.view(Math.max(0, i - 14), i + 1), 14));
+        }
+    }
+
+    @Benchmark
+    public void atrPercentStreaming(Blackhole bh) {
+        StreamingIndicators.ATRPercent atr = new StreamingIndicators.ATRPercent(14);
+        for (int i = 0; i < prices.size(); i++) {
+            bh.consume(atr.update(prices.getHigh(i), prices.getLow(i), prices.getClose(i)));
+        }
+    }
+
+    @Benchmark
+    public TechnicalIndicators.IchimokuCloud ichimoku() {
+        return TechnicalIndicators.calculateIchimokuCloud(prices);
+    }
+
+    @Benchmark
+    public IndicatorEngine engineFullSync() {
+        IndicatorEngine engine = new IndicatorEngine();
+        engine.sync(prices, prices);
+        return engine;
+    }
+
+    // Seeded 4h random walk, so every run sees the same candles
+    static PriceSeries randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        PriceSeries series = new PriceSeries(count);
+        long time = CandleSeries.toEpochMillis(LocalDate.of(2020, 1, 1));
+        double close = 50000;
+        for (int i = 0; i < count; i++) {
+            double open = close;
+            close = Math.max(1, open * (1 + random.nextGaussian() * 0.01));
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.005);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.005);
+            series.append(time, open, high, low, close, 100 + random.nextDouble() * 1000);
+            time += 4 * 60 * 60 * 1000L;
+        }
+        return series;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.tradinggame.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.tradinggame.dtos.OrderType;
+import com.tradinggame.state.GameState;
+
+/**
+ * Cost of one GameState.nextDay with a number of resting orders that never fill, spread
+ * over every day of the game. Plays the whole cached BTCUSDC range per invocation, so it
+ * must run from the project root with cache/BTCUSDC present.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NextDayBenchmark {
+    static final LocalDate START = LocalDate.of(2025, 3, 27);
+    static final LocalDate END = LocalDate.of(2025, 7, 4);
+    static final int DAYS = 100; // START..END inclusive, one nextDay each
+
+    @Param({"0", "1000", "10000"})
+    public int restingOrders;
+
+    private GameState gameState;
+
+    @Setup(Level.Invocation)
+    public void startGame() {
+        gameState = new GameState();
+        gameState.startGame("bench", START, END, 1_000_000, 0.001);
+        if (gameState.getCurrentSymbolState().getAllPriceHistory().isEmpty()) {
+            throw new IllegalStateException("No cached BTCUSDC prices; run from the project root");
+        }
+        for (int i = 0; i < restingOrders; i++) {
+            // Far below the market, so they rest for the whole game
+            gameState.placeOrder(OrderType.BUY, 1 + i % 100, 0.001, START.plusDays(i % DAYS));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public double nextDay() {
+        while (!gameState.isGameFinished()) {
+            gameState.nextDay();
+        }
+        return gameState.getUsdcBalance();
+    }
+}
\ No newline at end of file
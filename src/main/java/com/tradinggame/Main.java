@@ -18,6 +18,7 @@ public class Main {
             if (dialog.isConfirmed()) {
                 // Create loading dialog but don't show it yet
                 LoadingDialog loadingDialog = new LoadingDialog(frame);
+                frame.addLoadProgressListener(loadingDialog::setProgress);
                 
                 // Start game in background thread IMMEDIATELY
                 Thread backgroundThread = new Thread(() -> {
@@ -0,0 +1,195 @@
+package com.tradinggame.backtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.Order;
+import com.tradinggame.state.GameState;
+import com.tradinggame.state.SymbolState;
+
+/**
+ * Plays a GameState from start to end with a strategy instead of the Swing UI, and writes
+ * the final PnL and every executed trade to a file.
+ *
+ * Usage: java -cp crypto-trading-simulator.jar com.tradinggame.backtest.BacktestRunner
+ *     --from 2025-03-27 --to 2025-07-04 [--symbols BTCUSDC,ETHUSDC] [--balance 10000]
+ *     [--fee 0.001] [--strategy threshold:buyDrop=0.02,sellRise=0.03,fraction=0.5]
+ *     [--out backtest.txt]
+ */
+public class BacktestRunner {
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final GameState gameState;
+    private final Strategy strategy;
+
+    public BacktestRunner(GameState gameState, Strategy strategy) {
+        this.gameState = gameState;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Steps the already started game to its end. Before each day is executed the strategy
+     * gets every candle that closed before it, and its orders are placed for that day.
+     */
+    public void run() {
+        List<Feed> feeds = new ArrayList<>();
+        for (SymbolState state : gameState.getSymbolStates().values()) {
+            feeds.add(new Feed(state));
+        }
+        while (!gameState.isGameFinished()) {
+            LocalDate date = gameState.getCurrentDate();
+            long tradableFrom = CandleSeries.toEpochMillis(date.minusDays(1));
+            for (Feed feed : feeds) {
+                feed.deliver(date, tradableFrom);
+            }
+            gameState.nextDay();
+        }
+    }
+
+    /**
+     * Walks one symbol's history, remembering how far the strategy has been fed.
+     */
+    private class Feed {
+        private final SymbolState state;
+        private final Bar bar;
+        private final OrderSink orders;
+        private int next;
+
+        Feed(SymbolState state) {
+            this.state = state;
+            this.bar = new Bar(gameState, state);
+            this.orders = new OrderSink(state.getSymbol());
+        }
+
+        void deliver(LocalDate date, long tradableFrom) {
+            CandleSeries history = state.getAllPriceHistory();
+            bar.attach(history);
+            int end = history.indexOf(date);
+            for (int i = next; i < end; i++) {
+                long time = history.getTime(i);
+                boolean lastOfDay = i + 1 == end
+                    || Math.floorDiv(history.getTime(i + 1), MILLIS_PER_DAY) != Math.floorDiv(time, MILLIS_PER_DAY);
+                orders.setAccepting(time >= tradableFrom);
+                bar.moveTo(i, lastOfDay);
+                strategy.onBar(bar, orders);
+            }
+            next = Math.max(next, end);
+            orders.flush(gameState, date);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options;
+        Strategy strategy;
+        try {
+            options = parseOptions(args);
+            if (!options.containsKey("from") || !options.containsKey("to")) {
+                throw new IllegalArgumentException("--from and --to are required");
+            }
+            strategy = createStrategy(options.getOrDefault("strategy", "threshold"));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BacktestRunner --from yyyy-MM-dd --to yyyy-MM-dd [--symbols BTCUSDC,ETHUSDC]"
+                + " [--balance 10000] [--fee 0.001] [--strategy threshold:buyDrop=0.02,sellRise=0.03,fraction=0.5]"
+                + " [--out backtest.txt]");
+            System.exit(1);
+            return;
+        }
+        LocalDate from = LocalDate.parse(options.get("from"));
+        LocalDate to = LocalDate.parse(options.get("to"));
+        List<String> symbols = Arrays.asList(options.getOrDefault("symbols", "BTCUSDC").split(","));
+        double balance = Double.parseDouble(options.getOrDefault("balance", "10000"));
+        double fee = Double.parseDouble(options.getOrDefault("fee", "0.001"));
+        Path out = Paths.get(options.getOrDefault("out", "backtest.txt"));
+
+        GameState gameState = new GameState();
+        gameState.setSymbols(symbols);
+        gameState.startGame("backtest", from, to, balance, fee);
+
+        long started = System.nanoTime();
+        new BacktestRunner(gameState, strategy).run();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        writeReport(out, gameState, strategy, symbols, elapsedMillis);
+        System.out.printf("Backtest of %s finished in %d ms: final value %.2f, PnL %.2f. Report written to %s%n",
+            strategy, elapsedMillis, gameState.getPortfolioValue(),
+            gameState.getPortfolioValue() - gameState.getInitialBalance(), out);
+    }
+
+    static void writeReport(Path out, GameState gameState, Strategy strategy, List<String> symbols,
+                            long elapsedMillis) throws IOException {
+        double initial = gameState.getInitialBalance();
+        double finalValue = gameState.getPortfolioValue();
+        List<String[]> trades = new ArrayList<>();
+        for (SymbolState state : gameState.getSymbolStates().values()) {
+            for (Order order : state.getExecutedOrders()) {
+                trades.add(new String[] {
+                    order.getExecutionDate().toString(),
+                    state.getSymbol(),
+                    order.getType().name(),
+                    String.format("%.8f", order.getAmount()),
+                    String.format("%.2f", order.getExecutionPrice())
+                });
+            }
+        }
+        trades.sort(Comparator.comparing((String[] t) -> t[0]).thenComparing(t -> t[1]));
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+            writer.println("strategy=" + strategy);
+            writer.println("symbols=" + String.join(",", symbols));
+            writer.println("from=" + gameState.getStartDate());
+            writer.println("to=" + gameState.getEndDate());
+            writer.println("fee=" + gameState.getTradingFee());
+            writer.printf("initialBalance=%.2f%n", initial);
+            writer.printf("finalValue=%.2f%n", finalValue);
+            writer.printf("pnl=%.2f%n", finalValue - initial);
+            writer.printf("pnlPercent=%.4f%n", (finalValue - initial) / initial * 100);
+            writer.println("trades=" + trades.size());
+            writer.println("elapsedMillis=" + elapsedMillis);
+            writer.println();
+            writer.println("date,symbol,type,amount,price");
+            for (String[] trade : trades) {
+                writer.println(String.join(",", trade));
+            }
+        }
+    }
+
+    static Strategy createStrategy(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon < 0 ? spec : spec.substring(0, colon);
+        Map<String, String> params = new HashMap<>();
+        if (colon >= 0) {
+            for (String param : spec.substring(colon + 1).split(",")) {
+                String[] keyValue = param.split("=", 2);
+                if (keyValue.length != 2) {
+                    throw new IllegalArgumentException("Invalid strategy parameter: " + param);
+                }
+                params.put(keyValue[0].trim(), keyValue[1].trim());
+            }
+        }
+        if (name.equals("threshold")) {
+            return ThresholdStrategy.fromParams(params);
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Invalid argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
\ No newline at end of file
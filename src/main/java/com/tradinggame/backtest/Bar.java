@@ -0,0 +1,69 @@
+package com.tradinggame.backtest;
+
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.indicators.IndicatorEngine;
+import com.tradinggame.state.GameState;
+import com.tradinggame.state.SymbolState;
+
+/**
+ * Read-only view of the candle a strategy is called for, with the indicator values at that
+ * candle and the current balances. The runner moves one instance per symbol along the
+ * history, so every accessor reads primitives in place and nothing is allocated per bar.
+ * Indicator values are NaN until their window is filled.
+ */
+public final class Bar {
+    private final GameState gameState;
+    private final SymbolState state;
+    private final String crypto;
+    private CandleSeries history;
+    private IndicatorEngine indicators;
+    private int index;
+    private boolean lastOfDay;
+
+    Bar(GameState gameState, SymbolState state) {
+        this.gameState = gameState;
+        this.state = state;
+        this.crypto = state.getSymbol().replace("USDC", "");
+    }
+
+    void attach(CandleSeries history) {
+        this.history = history;
+        this.indicators = null;
+    }
+
+    void moveTo(int index, boolean lastOfDay) {
+        this.index = index;
+        this.lastOfDay = lastOfDay;
+    }
+
+    public String getSymbol() { return state.getSymbol(); }
+    // Index of the candle in the full (warm-up included) price history of the symbol
+    public int getIndex() { return index; }
+    public boolean isLastOfDay() { return lastOfDay; }
+
+    public long getTime() { return history.getTime(index); }
+    public double getOpen() { return history.getOpen(index); }
+    public double getHigh() { return history.getHigh(index); }
+    public double getLow() { return history.getLow(index); }
+    public double getClose() { return history.getClose(index); }
+    public double getVolume() { return history.getVolume(index); }
+
+    public double getRsi() { return indicators().getRsi(index); }
+    public double getAtrPercent() { return indicators().getAtrPercent(index); }
+    public double getUpperBand() { return indicators().getUpperBand(index); }
+    public double getMiddleBand() { return indicators().getMiddleBand(index); }
+    public double getLowerBand() { return indicators().getLowerBand(index); }
+
+    public double getUsdcBalance() { return gameState.getUsdcBalance(); }
+    public double getCryptoBalance() { return gameState.getCryptoBalance(crypto); }
+    public double getTradingFee() { return state.getTradingFee(); }
+    public int getOpenOrderCount() { return state.getOrderBook().size(); }
+
+    // Synced on first use each day, so strategies without indicators never compute them
+    private IndicatorEngine indicators() {
+        if (indicators == null) {
+            indicators = state.getIndicators();
+        }
+        return indicators;
+    }
+}
\ No newline at end of file
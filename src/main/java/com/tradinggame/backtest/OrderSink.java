@@ -0,0 +1,61 @@
+package com.tradinggame.backtest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import com.tradinggame.dtos.OrderType;
+import com.tradinggame.state.GameState;
+
+/**
+ * Limit orders a strategy emits for one symbol. Orders are buffered in primitive arrays and
+ * only turned into Order objects when the runner places them before the next game day.
+ */
+public final class OrderSink {
+    private final String symbol;
+    private boolean[] buys = new boolean[8];
+    private double[] prices = new double[8];
+    private double[] amounts = new double[8];
+    private int count;
+    private boolean accepting;
+
+    OrderSink(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public void buy(double price, double amount) {
+        add(true, price, amount);
+    }
+
+    public void sell(double price, double amount) {
+        add(false, price, amount);
+    }
+
+    void setAccepting(boolean accepting) {
+        this.accepting = accepting;
+    }
+
+    /**
+     * Places the buffered orders for the given day, in emission order.
+     */
+    void flush(GameState gameState, LocalDate date) {
+        for (int i = 0; i < count; i++) {
+            gameState.placeOrder(buys[i] ? OrderType.BUY : OrderType.SELL, prices[i], amounts[i], date, symbol);
+        }
+        count = 0;
+    }
+
+    private void add(boolean buy, double price, double amount) {
+        if (!accepting) {
+            return;
+        }
+        if (count == prices.length) {
+            int capacity = count * 2;
+            buys = Arrays.copyOf(buys, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        buys[count] = buy;
+        prices[count] = price;
+        amounts[count] = amount;
+        count++;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,242 @@
+package com.tradinggame.backtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import com.tradinggame.state.GameState;
+import com.tradinggame.state.SymbolState;
+
+/**
+ * Runs many independent backtests on a fork-join pool. All games read their candles from
+ * one SharedCandleStore, so a run only costs its own orders and balances.
+ *
+ * Usage: java -cp crypto-trading-simulator.jar com.tradinggame.backtest.ParameterSweep
+ *     --from 2025-03-27 --to 2025-07-04 [--symbol-sets "BTCUSDC;ETHUSDC;BTCUSDC,ETHUSDC"]
+ *     [--fees 0.001,0.002] [--buy-drops 0.01,0.02] [--sell-rises 0.01,0.03] [--fractions 0.5]
+ *     [--window-days 30 --window-step 7] [--balance 10000] [--parallelism 8] [--top 20]
+ *     [--out sweep.csv]
+ */
+public class ParameterSweep {
+
+    public static class Run {
+        final Supplier<Strategy> strategy;
+        final List<String> symbols;
+        final LocalDate from;
+        final LocalDate to;
+        final double fee;
+        final double balance;
+
+        public Run(Supplier<Strategy> strategy, List<String> symbols, LocalDate from, LocalDate to,
+                   double fee, double balance) {
+            this.strategy = strategy;
+            this.symbols = symbols;
+            this.from = from;
+            this.to = to;
+            this.fee = fee;
+            this.balance = balance;
+        }
+    }
+
+    public static class Result {
+        public final Run run;
+        public final String strategy;
+        public final double finalValue;
+        public final int trades;
+
+        Result(Run run, String strategy, double finalValue, int trades) {
+            this.run = run;
+            this.strategy = strategy;
+            this.finalValue = finalValue;
+            this.trades = trades;
+        }
+
+        public double getPnl() { return finalValue - run.balance; }
+        public double getPnlPercent() { return getPnl() / run.balance * 100; }
+    }
+
+    private final SharedCandleStore store;
+    private final int parallelism;
+
+    public ParameterSweep(SharedCandleStore store, int parallelism) {
+        this.store = store;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays every run and returns the results ranked by PnL, best first.
+     */
+    public List<Result> run(List<Run> runs) {
+        for (Run run : runs) {
+            for (String symbol : run.symbols) {
+                if (!store.contains(symbol)) {
+                    throw new IllegalArgumentException("Symbol " + symbol + " is not in the candle store");
+                }
+            }
+        }
+        Result[] results = new Result[runs.size()];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SweepTask(runs, results, 0, runs.size()));
+        } finally {
+            pool.shutdown();
+        }
+        List<Result> ranked = new ArrayList<>(Arrays.asList(results));
+        ranked.sort(Comparator.comparingDouble(Result::getPnl).reversed());
+        return ranked;
+    }
+
+    private Result play(Run run) {
+        GameState gameState = new GameState();
+        gameState.setLogTrades(false);
+        gameState.setSharedHistories(store.getHistories());
+        gameState.setSymbols(run.symbols);
+        gameState.startGame("sweep", run.from, run.to, run.balance, run.fee);
+        Strategy strategy = run.strategy.get();
+        new BacktestRunner(gameState, strategy).run();
+        int trades = 0;
+        for (SymbolState state : gameState.getSymbolStates().values()) {
+            trades += state.getExecutedOrders().size();
+        }
+        return new Result(run, strategy.toString(), gameState.getPortfolioValue(), trades);
+    }
+
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Run> runs;
+        private final Result[] results;
+        private final int from;
+        private final int to;
+
+        SweepTask(List<Run> runs, Result[] results, int from, int to) {
+            this.runs = runs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = play(runs.get(from));
+            } else if (to > from) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SweepTask(runs, results, from, mid), new SweepTask(runs, results, mid, to));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options;
+        try {
+            options = BacktestRunner.parseOptions(args);
+            if (!options.containsKey("from") || !options.containsKey("to")) {
+                throw new IllegalArgumentException("--from and --to are required");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: ParameterSweep --from yyyy-MM-dd --to yyyy-MM-dd [--symbol-sets \"BTCUSDC;ETHUSDC\"]"
+                + " [--fees 0.001] [--buy-drops 0.01,0.02] [--sell-rises 0.01,0.03] [--fractions 0.5]"
+                + " [--window-days 30 --window-step 7] [--balance 10000] [--parallelism N] [--top 20] [--out sweep.csv]");
+            System.exit(1);
+            return;
+        }
+        LocalDate from = LocalDate.parse(options.get("from"));
+        LocalDate to = LocalDate.parse(options.get("to"));
+        List<List<String>> symbolSets = new ArrayList<>();
+        for (String set : options.getOrDefault("symbol-sets", "BTCUSDC").split(";")) {
+            symbolSets.add(Arrays.asList(set.trim().split(",")));
+        }
+        double[] fees = parseDoubles(options.getOrDefault("fees", "0.001"));
+        double[] buyDrops = parseDoubles(options.getOrDefault("buy-drops", "0.01,0.02,0.03"));
+        double[] sellRises = parseDoubles(options.getOrDefault("sell-rises", "0.01,0.02,0.03"));
+        double[] fractions = parseDoubles(options.getOrDefault("fractions", "0.5"));
+        int windowDays = Integer.parseInt(options.getOrDefault("window-days", "0"));
+        int windowStep = Integer.parseInt(options.getOrDefault("window-step", "7"));
+        double balance = Double.parseDouble(options.getOrDefault("balance", "10000"));
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int top = Integer.parseInt(options.getOrDefault("top", "20"));
+        Path out = Paths.get(options.getOrDefault("out", "sweep.csv"));
+
+        // Date windows inside [from, to]; the whole range when no window length is given
+        List<LocalDate[]> windows = new ArrayList<>();
+        if (windowDays <= 0) {
+            windows.add(new LocalDate[] {from, to});
+        } else {
+            for (LocalDate start = from; !start.plusDays(windowDays - 1).isAfter(to); start = start.plusDays(windowStep)) {
+                windows.add(new LocalDate[] {start, start.plusDays(windowDays - 1)});
+            }
+        }
+
+        List<Run> runs = new ArrayList<>();
+        for (List<String> symbols : symbolSets) {
+            for (LocalDate[] window : windows) {
+                for (double fee : fees) {
+                    for (double buyDrop : buyDrops) {
+                        for (double sellRise : sellRises) {
+                            for (double fraction : fractions) {
+                                runs.add(new Run(() -> new ThresholdStrategy(buyDrop, sellRise, fraction),
+                                    symbols, window[0], window[1], fee, balance));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        Set<String> allSymbols = new LinkedHashSet<>();
+        symbolSets.forEach(allSymbols::addAll);
+        int warmupDays = new GameState().getIndicatorWarmupDays();
+        SharedCandleStore store = SharedCandleStore.load(allSymbols, from.minusDays(warmupDays), to);
+
+        long started = System.nanoTime();
+        List<Result> results = new ParameterSweep(store, parallelism).run(runs);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        writeResults(out, results);
+        System.out.printf("%d runs on %d threads in %d ms, results written to %s%n",
+            results.size(), parallelism, elapsedMillis, out);
+        printTable(results.subList(0, Math.min(top, results.size())));
+    }
+
+    static void writeResults(Path out, List<Result> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+            writer.println("rank,strategy,symbols,from,to,fee,finalValue,pnl,pnlPercent,trades");
+            int rank = 1;
+            for (Result result : results) {
+                writer.printf("%d,\"%s\",%s,%s,%s,%s,%.2f,%.2f,%.4f,%d%n", rank++, result.strategy,
+                    String.join(" ", result.run.symbols), result.run.from, result.run.to, result.run.fee,
+                    result.finalValue, result.getPnl(), result.getPnlPercent(), result.trades);
+            }
+        }
+    }
+
+    static void printTable(List<Result> results) {
+        System.out.printf("%-5s %-55s %-24s %-10s %-10s %-7s %12s %9s %7s%n",
+            "Rank", "Strategy", "Symbols", "From", "To", "Fee", "PnL", "PnL %", "Trades");
+        int rank = 1;
+        for (Result result : results) {
+            System.out.printf("%-5d %-55s %-24s %-10s %-10s %-7s %12.2f %8.2f%% %7d%n", rank++, result.strategy,
+                String.join(",", result.run.symbols), result.run.from, result.run.to, result.run.fee,
+                result.getPnl(), result.getPnlPercent(), result.trades);
+        }
+    }
+
+    private static double[] parseDoubles(String values) {
+        return Arrays.stream(values.split(",")).mapToDouble(v -> Double.parseDouble(v.trim())).toArray();
+    }
+}
\ No newline at end of file
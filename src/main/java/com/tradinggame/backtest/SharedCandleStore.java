@@ -0,0 +1,39 @@
+package com.tradinggame.backtest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.tradinggame.clients.BinanceApiClient;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.PriceSeries;
+import com.tradinggame.utils.GameLog;
+
+/**
+ * Candle histories of several symbols, loaded once and only read afterwards. Games get
+ * read-only views of them through GameState.setSharedHistories, so any number of games can
+ * run on one store concurrently without copying candles or creating API clients.
+ */
+public class SharedCandleStore {
+    private final Map<String, CandleSeries> histories;
+
+    private SharedCandleStore(Map<String, CandleSeries> histories) {
+        this.histories = Collections.unmodifiableMap(histories);
+    }
+
+    public static SharedCandleStore load(Collection<String> symbols, LocalDate from, LocalDate to) throws IOException {
+        Map<String, CandleSeries> histories = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            PriceSeries series = new BinanceApiClient(symbol).getHistoricalSeries(from, to);
+            GameLog.info("Loaded %d price points for %s from %s to %s", series.size(), symbol, from, to);
+            histories.put(symbol, series.view(0, series.size()));
+        }
+        return new SharedCandleStore(histories);
+    }
+
+    public Map<String, CandleSeries> getHistories() { return histories; }
+
+    public boolean contains(String symbol) { return histories.containsKey(symbol); }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.tradinggame.backtest;
+
+/**
+ * Trading logic driven by the backtest runner instead of a player.
+ */
+public interface Strategy {
+    /**
+     * Called for every candle of every traded symbol once it has closed, in time order per
+     * symbol. The bar and the order sink are reused between calls and must not be kept.
+     * Orders go to the game day after the bar's day, and are ignored for warm-up bars from
+     * before that day.
+     */
+    void onBar(Bar bar, OrderSink orders);
+}
\ No newline at end of file
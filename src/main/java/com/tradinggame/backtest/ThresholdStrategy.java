@@ -0,0 +1,51 @@
+package com.tradinggame.backtest;
+
+import java.util.Map;
+
+/**
+ * Buys a fraction of the free USDC with a limit buyDrop below the previous close, and sells
+ * the whole position with a limit sellRise above it, once per day at the day's last close.
+ * Every symbol is traded on its own.
+ */
+public class ThresholdStrategy implements Strategy {
+    private final double buyDrop;
+    private final double sellRise;
+    private final double fraction;
+
+    public ThresholdStrategy(double buyDrop, double sellRise, double fraction) {
+        this.buyDrop = buyDrop;
+        this.sellRise = sellRise;
+        this.fraction = fraction;
+    }
+
+    public static ThresholdStrategy fromParams(Map<String, String> params) {
+        return new ThresholdStrategy(
+            Double.parseDouble(params.getOrDefault("buyDrop", "0.02")),
+            Double.parseDouble(params.getOrDefault("sellRise", "0.03")),
+            Double.parseDouble(params.getOrDefault("fraction", "0.5")));
+    }
+
+    @Override
+    public void onBar(Bar bar, OrderSink orders) {
+        if (!bar.isLastOfDay()) {
+            return;
+        }
+        double lastClose = bar.getClose();
+        double holding = bar.getCryptoBalance();
+        if (holding > 0) {
+            orders.sell(lastClose * (1 + sellRise), holding);
+        } else {
+            double price = lastClose * (1 - buyDrop);
+            double budget = bar.getUsdcBalance() * fraction;
+            double amount = budget / (price * (1 + bar.getTradingFee()));
+            if (amount > 0) {
+                orders.buy(price, amount);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("threshold(buyDrop=%s, sellRise=%s, fraction=%s)", buyDrop, sellRise, fraction);
+    }
+}
\ No newline at end of file
@@ -1,103 +1,253 @@
 package com.tradinggame.clients;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.Response;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
+import com.tradinggame.dtos.CandleSeries;
 import com.tradinggame.dtos.PriceData;
+import com.tradinggame.dtos.PriceSeries;
+import com.tradinggame.metrics.CandleLoadEvent;
+import com.tradinggame.metrics.Counter;
+import com.tradinggame.metrics.Histogram;
+import com.tradinggame.metrics.MetricsRegistry;
 
 public class BinanceApiClient {
     private static final String BASE_URL = "https://api.binance.com/api/v3";
     private static final String INTERVAL = "4h";
+    private static final long INTERVAL_MILLIS = 4 * 60 * 60 * 1000L;
+    private static final int MAX_KLINES_PER_REQUEST = 1000;
+    // Request weights from the Binance API docs
+    private static final int KLINES_WEIGHT = 2;
+    private static final int TICKER_PRICE_WEIGHT = 2;
+    private static final Histogram LOAD_NANOS = MetricsRegistry.shared().histogram("candles.load.nanos");
+    private static final Counter MEMORY_HITS = MetricsRegistry.shared().counter("candles.memoryCache.hitDays");
+    private static final Counter DISK_HITS = MetricsRegistry.shared().counter("candles.diskCache.hitDays");
+    private static final Counter MISSES = MetricsRegistry.shared().counter("candles.cache.missDays");
     
-    private final OkHttpClient client;
     private final Gson gson;
     private final String symbol;
+    private final Path cacheDir;
+    private final BinaryCandleCache binaryCache;
+    private final CandleMemoryCache memoryCache = CandleMemoryCache.shared();
 
     public BinanceApiClient() {
         this("BTCUSDC");
     }
 
     public BinanceApiClient(String symbol) {
-        this.client = new OkHttpClient();
+        // File-based cache directory per symbol
+        this(symbol, Paths.get("cache", symbol));
+    }
+
+    BinanceApiClient(String symbol, Path cacheDir) {
         this.gson = new Gson();
         this.symbol = symbol;
+        this.cacheDir = cacheDir;
+        this.binaryCache = new BinaryCandleCache(cacheDir);
     }
 
     public List<PriceData> getHistoricalPrices(LocalDate date) throws IOException {
-        // File-based cache directory per symbol
-        Path cacheDir = Paths.get("cache", symbol);
-        if (!Files.exists(cacheDir)) {
-            Files.createDirectories(cacheDir);
+        return getHistoricalPrices(date, date);
+    }
+
+    public List<PriceData> getHistoricalPrices(LocalDate from, LocalDate to) throws IOException {
+        return new ArrayList<>(getHistoricalSeries(from, to).asList());
+    }
+
+    public PriceSeries getHistoricalSeries(LocalDate date) throws IOException {
+        return getHistoricalSeries(date, date);
+    }
+
+    /**
+     * Loads all 4h candles between two dates (inclusive). Days are served from the in-memory
+     * candle cache when possible, then from the month files of the binary cache. Days only
+     * present in the legacy JSON cache are migrated, and runs of missing days are fetched
+     * with as few /klines calls as possible.
+     */
+    public PriceSeries getHistoricalSeries(LocalDate from, LocalDate to) throws IOException {
+        long start = System.nanoTime();
+        CandleLoadEvent event = new CandleLoadEvent();
+        event.begin();
+        PriceSeries prices = new PriceSeries();
+        try {
+            load(from, to, prices, event);
+        } finally {
+            LOAD_NANOS.recordSince(start);
+            commit(event, from, to, prices.size());
         }
-        Path cacheFile = cacheDir.resolve(date.toString() + ".json");
-        List<PriceData> prices = new ArrayList<>();
-        if (Files.exists(cacheFile)) {
-            // Load from cache
-            String cachedJson = new String(Files.readAllBytes(cacheFile));
-            JsonArray klines = gson.fromJson(cachedJson, JsonArray.class);
-            for (JsonElement element : klines) {
-                JsonArray kline = element.getAsJsonArray();
-                long timestamp = kline.get(0).getAsLong();
-                double openPrice = Double.parseDouble(kline.get(1).getAsString());
-                double highPrice = Double.parseDouble(kline.get(2).getAsString());
-                double lowPrice = Double.parseDouble(kline.get(3).getAsString());
-                double closePrice = Double.parseDouble(kline.get(4).getAsString());
-                double volume = Double.parseDouble(kline.get(5).getAsString());
-                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(timestamp / 1000, 0, ZoneOffset.UTC);
-                prices.add(new PriceData(dateTime, openPrice, highPrice, lowPrice, closePrice, volume));
+        return prices;
+    }
+
+    /**
+     * Makes sure every day between the two dates is in the binary cache without
+     * materialising the already cached candles.
+     */
+    public void cacheRange(LocalDate from, LocalDate to) throws IOException {
+        CandleLoadEvent event = new CandleLoadEvent();
+        event.begin();
+        try {
+            load(from, to, null, event);
+        } finally {
+            commit(event, from, to, 0);
+        }
+    }
+
+    private void commit(CandleLoadEvent event, LocalDate from, LocalDate to, int candles) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.symbol = symbol;
+            event.from = from.toString();
+            event.to = to.toString();
+            event.candles = candles;
+            event.commit();
+        }
+    }
+
+    // Without a target only the disk cache is checked, since that is what cacheRange fills
+    private void load(LocalDate from, LocalDate to, PriceSeries prices, CandleLoadEvent event) throws IOException {
+        Map<YearMonth, BinaryCandleCache.MonthBlock> months = new HashMap<>();
+        Map<LocalDate, List<PriceData>> newDays = new TreeMap<>();
+        try {
+            LocalDate date = from;
+            while (!date.isAfter(to)) {
+                if (prices != null) {
+                    PriceSeries cached = memoryCache.get(symbol, INTERVAL, date);
+                    if (cached != null) {
+                        MEMORY_HITS.increment();
+                        event.memoryHitDays++;
+                        prices.mergeAll(cached);
+                        date = date.plusDays(1);
+                        continue;
+                    }
+                }
+                BinaryCandleCache.MonthBlock month = readMonth(months, date);
+                if (month.hasDay(date)) {
+                    DISK_HITS.increment();
+                    event.diskHitDays++;
+                    if (prices != null) {
+                        PriceSeries dayPrices = new PriceSeries(6);
+                        month.appendDay(date, dayPrices);
+                        memoryCache.put(symbol, INTERVAL, date, dayPrices);
+                        prices.mergeAll(dayPrices);
+                    }
+                    date = date.plusDays(1);
+                    continue;
+                }
+                Path legacyFile = getLegacyCacheFile(date);
+                if (Files.exists(legacyFile)) {
+                    DISK_HITS.increment();
+                    event.diskHitDays++;
+                    PriceSeries dayPrices = KlineParser.parse(Files.readAllBytes(legacyFile));
+                    newDays.put(date, dayPrices.asList());
+                    memoryCache.put(symbol, INTERVAL, date, dayPrices);
+                    if (prices != null) {
+                        prices.mergeAll(dayPrices);
+                    }
+                    date = date.plusDays(1);
+                    continue;
+                }
+                LocalDate runEnd = date;
+                while (runEnd.isBefore(to) && !isCached(months, runEnd.plusDays(1))) {
+                    runEnd = runEnd.plusDays(1);
+                }
+                int missing = (int) ChronoUnit.DAYS.between(date, runEnd) + 1;
+                MISSES.add(missing);
+                event.fetchedDays += missing;
+                PriceSeries fetched = fetchRange(date, runEnd, newDays, event);
+                if (prices != null) {
+                    prices.mergeAll(fetched);
+                }
+                date = runEnd.plusDays(1);
+            }
+        } finally {
+            // Persist whatever was fetched or migrated, even if a later page failed
+            if (!newDays.isEmpty()) {
+                binaryCache.writeDays(newDays);
             }
-            return prices;
         }
-        // Convert date to start and end timestamps (UTC)
-        long startTime = date.atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1000;
-        long endTime = date.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1000;
-        
-        String url = String.format("%s/klines?symbol=%s&interval=%s&startTime=%d&endTime=%d&limit=6",
-                BASE_URL, symbol, INTERVAL, startTime, endTime);
+    }
+
+    private PriceSeries fetchRange(LocalDate from, LocalDate to, Map<LocalDate, List<PriceData>> newDays,
+                                   CandleLoadEvent event) throws IOException {
+        long startTime = toEpochMillis(from);
+        long endTime = toEpochMillis(to.plusDays(1));
+        long pageSpan = MAX_KLINES_PER_REQUEST * INTERVAL_MILLIS;
+        // All pages are queued at once and multiplexed over the shared connection as the
+        // request scheduler releases them
+        List<CompletableFuture<byte[]>> pages = new ArrayList<>();
+        for (long pageStart = startTime; pageStart < endTime; pageStart += pageSpan) {
+            long pageEnd = Math.min(pageStart + pageSpan, endTime);
+            pages.add(fetchKlinesAsync(pageStart, pageEnd, MAX_KLINES_PER_REQUEST));
+        }
+        PriceSeries prices = new PriceSeries((int) ((endTime - startTime) / INTERVAL_MILLIS));
+        for (int i = 0; i < pages.size(); i++) {
+            try {
+                byte[] page = HttpTransport.await(pages.get(i));
+                event.networkBytes += page.length;
+                KlineParser.parseInto(page, prices);
+            } catch (IOException e) {
+                pages.subList(i + 1, pages.size()).forEach(p -> p.cancel(true));
+                throw e;
+            }
+        }
+        // Split the range back into per-day cache entries; the current day is still incomplete
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (LocalDate date = from; !date.isAfter(to) && date.isBefore(today); date = date.plusDays(1)) {
+            CandleSeries dayPrices = prices.getDay(date);
+            newDays.put(date, dayPrices.asList());
+            memoryCache.put(symbol, INTERVAL, date, dayPrices);
+        }
+        return prices;
+    }
+
+    private BinaryCandleCache.MonthBlock readMonth(Map<YearMonth, BinaryCandleCache.MonthBlock> months, LocalDate date) throws IOException {
+        YearMonth month = YearMonth.from(date);
+        BinaryCandleCache.MonthBlock block = months.get(month);
+        if (block == null) {
+            block = binaryCache.readMonth(month);
+            months.put(month, block);
+        }
+        return block;
+    }
+
+    private boolean isCached(Map<YearMonth, BinaryCandleCache.MonthBlock> months, LocalDate date) throws IOException {
+        return readMonth(months, date).hasDay(date) || Files.exists(getLegacyCacheFile(date));
+    }
+
+    private CompletableFuture<byte[]> fetchKlinesAsync(long startTime, long endTime, int limit) {
+        // endTime is inclusive on the Binance side
+        String url = String.format("%s/klines?symbol=%s&interval=%s&startTime=%d&endTime=%d&limit=%d",
+                BASE_URL, symbol, INTERVAL, startTime, endTime - 1, limit);
         
         Request request = new Request.Builder()
                 .url(url)
                 .build();
+        return RequestScheduler.shared().submit(request, symbol, KLINES_WEIGHT);
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected response: " + response);
-            }
+    private Path getLegacyCacheFile(LocalDate date) {
+        return cacheDir.resolve(date.toString() + ".json");
+    }
 
-            String responseBody = response.body().string();
-            // Save to cache
-            Files.write(cacheFile, responseBody.getBytes());
-            JsonArray klines = gson.fromJson(responseBody, JsonArray.class);
-            
-            for (JsonElement element : klines) {
-                JsonArray kline = element.getAsJsonArray();
-                long timestamp = kline.get(0).getAsLong();
-                double openPrice = Double.parseDouble(kline.get(1).getAsString());
-                double highPrice = Double.parseDouble(kline.get(2).getAsString());
-                double lowPrice = Double.parseDouble(kline.get(3).getAsString());
-                double closePrice = Double.parseDouble(kline.get(4).getAsString());
-                double volume = Double.parseDouble(kline.get(5).getAsString());
-                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(timestamp / 1000, 0, ZoneOffset.UTC);
-                prices.add(new PriceData(dateTime, openPrice, highPrice, lowPrice, closePrice, volume));
-            }
-            
-            return prices;
-        }
+    private static long toEpochMillis(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1000;
     }
 
     public double getCurrentPrice() throws IOException {
@@ -107,14 +257,8 @@ public class BinanceApiClient {
                 .url(url)
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected response: " + response);
-            }
-
-            String responseBody = response.body().string();
-            JsonObject ticker = gson.fromJson(responseBody, JsonObject.class);
-            return Double.parseDouble(ticker.get("price").getAsString());
-        }
+        byte[] responseBody = HttpTransport.await(RequestScheduler.shared().submit(request, symbol, TICKER_PRICE_WEIGHT));
+        JsonObject ticker = gson.fromJson(new String(responseBody, StandardCharsets.UTF_8), JsonObject.class);
+        return Double.parseDouble(ticker.get("price").getAsString());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.tradinggame.clients;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.tradinggame.dtos.PriceData;
+import com.tradinggame.dtos.PriceSeries;
+
+/**
+ * On-disk candle cache with one binary file per symbol and month (cache/SYMBOL/yyyy-MM.bin).
+ *
+ * Layout (big-endian):
+ *   int magic, int version, int count,
+ *   int[31] first candle index per day of month (-1 = day not cached),
+ *   int[31] candle count per day of month,
+ *   long[count] open time (epoch millis),
+ *   double[count] open, high, low, close, volume
+ *
+ * Files are rewritten through a temp file and an atomic move, so readers never see a
+ * half-written month.
+ */
+public class BinaryCandleCache {
+    static final int MAGIC = 0x54474331; // "TGC1"
+    static final int VERSION = 1;
+    static final int DAYS_PER_MONTH = 31;
+    static final int HEADER_SIZE = 3 * 4 + 2 * DAYS_PER_MONTH * 4;
+    static final int COLUMNS = 6;
+    static final String FILE_SUFFIX = ".bin";
+
+    private final Path symbolDir;
+
+    public BinaryCandleCache(Path symbolDir) {
+        this.symbolDir = symbolDir;
+    }
+
+    public Path getMonthFile(YearMonth month) {
+        return symbolDir.resolve(month.toString() + FILE_SUFFIX);
+    }
+
+    public synchronized MonthBlock readMonth(YearMonth month) throws IOException {
+        Path file = getMonthFile(month);
+        if (!Files.exists(file)) {
+            return new MonthBlock(month);
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the whole file is in the buffer
+            }
+        }
+        buffer.flip();
+        return MonthBlock.decode(month, buffer);
+    }
+
+    /**
+     * Stores the given days, keeping every other day already cached for the same month.
+     * An empty list marks a day as cached with no candles.
+     */
+    public synchronized void writeDays(Map<LocalDate, List<PriceData>> days) throws IOException {
+        Map<YearMonth, Map<LocalDate, List<PriceData>>> byMonth = new TreeMap<>();
+        for (Map.Entry<LocalDate, List<PriceData>> entry : days.entrySet()) {
+            byMonth.computeIfAbsent(YearMonth.from(entry.getKey()), m -> new TreeMap<>())
+                .put(entry.getKey(), entry.getValue());
+        }
+        if (!byMonth.isEmpty() && !Files.exists(symbolDir)) {
+            Files.createDirectories(symbolDir);
+        }
+        for (Map.Entry<YearMonth, Map<LocalDate, List<PriceData>>> entry : byMonth.entrySet()) {
+            MonthBlock merged = readMonth(entry.getKey()).merge(entry.getValue());
+            Path file = getMonthFile(entry.getKey());
+            Path tempFile = symbolDir.resolve(file.getFileName() + "." + System.nanoTime() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = merged.encode();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Decoded content of one month file, held as primitive columns.
+     */
+    public static class MonthBlock {
+        private final YearMonth month;
+        private final int[] dayStart = new int[DAYS_PER_MONTH];
+        private final int[] dayCount = new int[DAYS_PER_MONTH];
+        private int count;
+        private long[] times;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private double[] volume;
+
+        MonthBlock(YearMonth month) {
+            this(month, 0);
+            Arrays.fill(dayStart, -1);
+        }
+
+        private MonthBlock(YearMonth month, int count) {
+            this.month = month;
+            this.count = count;
+            this.times = new long[count];
+            this.open = new double[count];
+            this.high = new double[count];
+            this.low = new double[count];
+            this.close = new double[count];
+            this.volume = new double[count];
+        }
+
+        public boolean hasDay(LocalDate date) {
+            return dayStart[date.getDayOfMonth() - 1] >= 0;
+        }
+
+        public void appendDay(LocalDate date, List<PriceData> target) {
+            int day = date.getDayOfMonth() - 1;
+            int end = dayStart[day] + dayCount[day];
+            for (int i = dayStart[day]; i < end; i++) {
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(times[i] / 1000, 0, ZoneOffset.UTC);
+                target.add(new PriceData(dateTime, open[i], high[i], low[i], close[i], volume[i]));
+            }
+        }
+
+        public void appendDay(LocalDate date, PriceSeries target) {
+            int day = date.getDayOfMonth() - 1;
+            int end = dayStart[day] + dayCount[day];
+            for (int i = dayStart[day]; i < end; i++) {
+                target.append(times[i], open[i], high[i], low[i], close[i], volume[i]);
+            }
+        }
+
+        public int size() {
+            return count;
+        }
+
+        private MonthBlock merge(Map<LocalDate, List<PriceData>> days) {
+            List<List<PriceData>> merged = new ArrayList<>();
+            int total = 0;
+            for (int day = 0; day < DAYS_PER_MONTH; day++) {
+                List<PriceData> candles = null;
+                if (day < month.lengthOfMonth()) {
+                    LocalDate date = month.atDay(day + 1);
+                    candles = days.get(date);
+                    if (candles == null && hasDay(date)) {
+                        candles = new ArrayList<>();
+                        appendDay(date, candles);
+                    }
+                }
+                merged.add(candles);
+                total += candles == null ? 0 : candles.size();
+            }
+            MonthBlock block = new MonthBlock(month, total);
+            int index = 0;
+            for (int day = 0; day < DAYS_PER_MONTH; day++) {
+                List<PriceData> candles = merged.get(day);
+                if (candles == null) {
+                    block.dayStart[day] = -1;
+                    continue;
+                }
+                block.dayStart[day] = index;
+                block.dayCount[day] = candles.size();
+                for (PriceData price : candles) {
+                    block.times[index] = price.getTimestamp().toEpochSecond(ZoneOffset.UTC) * 1000;
+                    block.open[index] = price.getOpen();
+                    block.high[index] = price.getHigh();
+                    block.low[index] = price.getLow();
+                    block.close[index] = price.getPrice();
+                    block.volume[index] = price.getVolume();
+                    index++;
+                }
+            }
+            return block;
+        }
+
+        private ByteBuffer encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * COLUMNS * 8);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count);
+            buffer.asIntBuffer().put(dayStart).put(dayCount);
+            buffer.position(HEADER_SIZE);
+            buffer.asLongBuffer().put(times);
+            buffer.position(HEADER_SIZE + count * 8);
+            putColumn(buffer, open);
+            putColumn(buffer, high);
+            putColumn(buffer, low);
+            putColumn(buffer, close);
+            putColumn(buffer, volume);
+            buffer.flip();
+            return buffer;
+        }
+
+        private static void putColumn(ByteBuffer buffer, double[] column) {
+            int position = buffer.position();
+            buffer.asDoubleBuffer().put(column);
+            buffer.position(position + column.length * 8);
+        }
+
+        private static MonthBlock decode(YearMonth month, ByteBuffer buffer) throws IOException {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a candle cache file for " + month);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported candle cache version " + version + " for " + month);
+            }
+            int count = buffer.getInt();
+            if (buffer.capacity() != HEADER_SIZE + count * COLUMNS * 8) {
+                throw new IOException("Truncated candle cache file for " + month);
+            }
+            MonthBlock block = new MonthBlock(month, count);
+            buffer.asIntBuffer().get(block.dayStart).get(block.dayCount);
+            buffer.position(HEADER_SIZE);
+            buffer.asLongBuffer().get(block.times);
+            buffer.position(HEADER_SIZE + count * 8);
+            getColumn(buffer, block.open);
+            getColumn(buffer, block.high);
+            getColumn(buffer, block.low);
+            getColumn(buffer, block.close);
+            getColumn(buffer, block.volume);
+            return block;
+        }
+
+        private static void getColumn(ByteBuffer buffer, double[] column) {
+            int position = buffer.position();
+            buffer.asDoubleBuffer().get(column);
+            buffer.position(position + column.length * 8);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.tradinggame.clients;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One-time conversion of the legacy cache/SYMBOL/yyyy-MM-dd.json files into the binary
+ * month files used by {@link BinaryCandleCache}. The JSON files are left in place.
+ *
+ * Usage: java -cp crypto-trading-simulator.jar com.tradinggame.clients.CacheMigrator [cacheDir]
+ */
+public class CacheMigrator {
+    public static void main(String[] args) throws IOException {
+        Path cacheRoot = Paths.get(args.length > 0 ? args[0] : "cache");
+        if (!Files.isDirectory(cacheRoot)) {
+            System.err.println("Cache directory not found: " + cacheRoot);
+            return;
+        }
+        try (DirectoryStream<Path> symbolDirs = Files.newDirectoryStream(cacheRoot, Files::isDirectory)) {
+            for (Path symbolDir : symbolDirs) {
+                String symbol = symbolDir.getFileName().toString();
+                int migrated = migrateSymbol(symbol, symbolDir);
+                System.out.println("Migrated " + migrated + " cached days for " + symbol);
+            }
+        }
+    }
+
+    private static int migrateSymbol(String symbol, Path symbolDir) throws IOException {
+        List<LocalDate> dates = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(symbolDir, "*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    dates.add(LocalDate.parse(name.substring(0, name.length() - ".json".length())));
+                } catch (DateTimeParseException e) {
+                    System.err.println("Skipping unexpected cache file " + file);
+                }
+            }
+        }
+        Collections.sort(dates);
+        // The client migrates legacy days as it reads them; only hand it runs of
+        // consecutive cached days so nothing is fetched from the network.
+        BinanceApiClient client = new BinanceApiClient(symbol, symbolDir);
+        int i = 0;
+        while (i < dates.size()) {
+            int runEnd = i;
+            while (runEnd + 1 < dates.size() && dates.get(runEnd + 1).equals(dates.get(runEnd).plusDays(1))) {
+                runEnd++;
+            }
+            client.getHistoricalPrices(dates.get(i), dates.get(runEnd));
+            i = runEnd + 1;
+        }
+        return dates.size();
+    }
+}
\ No newline at end of file
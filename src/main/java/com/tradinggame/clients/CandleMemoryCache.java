@@ -0,0 +1,117 @@
+package com.tradinggame.clients;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.PriceSeries;
+import com.tradinggame.metrics.MetricsRegistry;
+
+/**
+ * Process-wide LRU of candle days, keyed by symbol, interval and UTC day, in front of the
+ * disk cache. It outlives games and SymbolStates, so restarting a game over the same window
+ * is served from memory. The cache is bounded by the bytes of the cached columns; the least
+ * recently used days are evicted first.
+ *
+ * Only complete days are cached. A day without candles is cached as an empty series.
+ */
+public class CandleMemoryCache {
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int BYTES_PER_CANDLE = 6 * 8;
+    // Key, map node and array headers of one cached day
+    private static final int BYTES_PER_DAY = 160;
+
+    private static final CandleMemoryCache SHARED = new CandleMemoryCache(DEFAULT_MAX_BYTES);
+
+    static {
+        MetricsRegistry.shared().gauge("candles.memoryCache.bytes", SHARED::getBytes);
+        MetricsRegistry.shared().gauge("candles.memoryCache.days", SHARED::size);
+    }
+
+    private final LinkedHashMap<Key, PriceSeries> days = new LinkedHashMap<>(256, 0.75f, true);
+    private long maxBytes;
+    private long bytes;
+
+    public CandleMemoryCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static CandleMemoryCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Read-only candles of the day, or null if the day is not cached.
+     */
+    public synchronized PriceSeries get(String symbol, String interval, LocalDate day) {
+        PriceSeries candles = days.get(new Key(symbol, interval, day));
+        return candles != null ? candles.view(0, candles.size()) : null;
+    }
+
+    /**
+     * Caches a copy of the day's candles, evicting least recently used days as needed.
+     */
+    public synchronized void put(String symbol, String interval, LocalDate day, CandleSeries candles) {
+        PriceSeries copy = new PriceSeries(candles.size());
+        copy.appendAll(candles);
+        PriceSeries previous = days.put(new Key(symbol, interval, day), copy);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += sizeOf(copy);
+        evict();
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    public synchronized long getBytes() { return bytes; }
+    public synchronized int size() { return days.size(); }
+
+    public synchronized void clear() {
+        days.clear();
+        bytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, PriceSeries>> eldest = days.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= sizeOf(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long sizeOf(PriceSeries candles) {
+        return (long) candles.size() * BYTES_PER_CANDLE + BYTES_PER_DAY;
+    }
+
+    private static final class Key {
+        private final String symbol;
+        private final String interval;
+        private final long epochDay;
+
+        Key(String symbol, String interval, LocalDate day) {
+            this.symbol = symbol;
+            this.interval = interval;
+            this.epochDay = day.toEpochDay();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return epochDay == other.epochDay && symbol.equals(other.symbol) && interval.equals(other.interval);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, interval, epochDay);
+        }
+    }
+}
\ No newline at end of file
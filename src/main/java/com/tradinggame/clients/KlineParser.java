@@ -0,0 +1,245 @@
+package com.tradinggame.clients;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import com.tradinggame.dtos.PriceSeries;
+
+/**
+ * Parses Binance kline arrays ([[openTime, "open", "high", "low", "close", "volume", ...], ...])
+ * straight from the response bytes into the columns of a PriceSeries. No JSON tree and no
+ * per-field String is built; the remaining fields of each kline are skipped unread.
+ *
+ * Decimals whose digits fit in 53 bits with at most 22 fraction digits (every price and
+ * volume Binance sends) are converted as an integer mantissa divided by a power of ten,
+ * which rounds exactly like Double.parseDouble. Anything else falls back to it.
+ */
+public final class KlineParser {
+    // Largest mantissa for which mantissa / 10^scale is still correctly rounded
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[23];
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final byte[] json;
+    private int pos;
+
+    private KlineParser(byte[] json) {
+        this.json = json;
+    }
+
+    public static PriceSeries parse(byte[] json) throws IOException {
+        // A 4h kline is roughly 150 bytes of JSON
+        PriceSeries series = new PriceSeries(Math.max(json.length / 150, 1));
+        parseInto(json, series);
+        return series;
+    }
+
+    /**
+     * Merges every kline of the JSON array into the series; klines whose open time is
+     * already there, such as the shared boundary candle of two pages, are skipped.
+     */
+    public static void parseInto(byte[] json, PriceSeries target) throws IOException {
+        new KlineParser(json).parseArray(target);
+    }
+
+    private void parseArray(PriceSeries target) throws IOException {
+        expect('[');
+        if (peek() == ']') {
+            pos++;
+            expectEnd();
+            return;
+        }
+        while (true) {
+            expect('[');
+            long time = parseLong();
+            expect(',');
+            double open = parseDouble();
+            expect(',');
+            double high = parseDouble();
+            expect(',');
+            double low = parseDouble();
+            expect(',');
+            double close = parseDouble();
+            expect(',');
+            double volume = parseDouble();
+            while (peek() == ',') {
+                pos++;
+                skipValue();
+            }
+            expect(']');
+            target.merge(time, open, high, low, close, volume);
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect(']');
+                expectEnd();
+                return;
+            }
+        }
+    }
+
+    private long parseLong() throws IOException {
+        boolean quoted = peek() == '"';
+        if (quoted) {
+            pos++;
+        }
+        boolean negative = pos < json.length && json[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        int start = pos;
+        long value = 0;
+        while (pos < json.length && isDigit(json[pos])) {
+            value = value * 10 + (json[pos++] - '0');
+        }
+        if (pos == start || pos - start > 18) {
+            throw malformed();
+        }
+        if (quoted) {
+            expectRaw('"');
+        }
+        return negative ? -value : value;
+    }
+
+    private double parseDouble() throws IOException {
+        boolean quoted = peek() == '"';
+        if (quoted) {
+            pos++;
+        }
+        int start = pos;
+        boolean negative = pos < json.length && json[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean exact = true;
+        boolean fraction = false;
+        while (pos < json.length) {
+            byte b = json[pos];
+            if (isDigit(b)) {
+                if (mantissa < MAX_EXACT_MANTISSA) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (fraction) {
+                        scale++;
+                    }
+                } else {
+                    exact = false;
+                }
+                digits++;
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b == 'e' || b == 'E' || b == '+' || b == '-') {
+                exact = false;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (digits == 0) {
+            throw malformed();
+        }
+        int end = pos;
+        if (quoted) {
+            expectRaw('"');
+        }
+        if (exact && mantissa <= MAX_EXACT_MANTISSA && scale < POWERS_OF_TEN.length) {
+            double value = mantissa / POWERS_OF_TEN[scale];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(json, start, end - start, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            throw malformed();
+        }
+    }
+
+    // Skips one JSON value of any type
+    private void skipValue() throws IOException {
+        byte b = peek();
+        if (b == '"') {
+            pos++;
+            while (pos < json.length && json[pos] != '"') {
+                pos += json[pos] == '\\' ? 2 : 1;
+            }
+            expectRaw('"');
+        } else if (b == '[' || b == '{') {
+            int depth = 0;
+            do {
+                byte c = json[pos];
+                if (c == '"') {
+                    skipValue();
+                    continue;
+                }
+                if (c == '[' || c == '{') {
+                    depth++;
+                } else if (c == ']' || c == '}') {
+                    depth--;
+                }
+                pos++;
+            } while (depth > 0 && pos < json.length);
+            if (depth > 0) {
+                throw malformed();
+            }
+        } else {
+            int start = pos;
+            while (pos < json.length && json[pos] != ',' && json[pos] != ']' && json[pos] != '}'
+                    && !isWhitespace(json[pos])) {
+                pos++;
+            }
+            if (pos == start) {
+                throw malformed();
+            }
+        }
+    }
+
+    private byte peek() throws IOException {
+        while (pos < json.length && isWhitespace(json[pos])) {
+            pos++;
+        }
+        if (pos == json.length) {
+            throw malformed();
+        }
+        return json[pos];
+    }
+
+    private void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw malformed();
+        }
+        pos++;
+    }
+
+    private void expectRaw(char c) throws IOException {
+        if (pos >= json.length || json[pos] != c) {
+            throw malformed();
+        }
+        pos++;
+    }
+
+    private void expectEnd() throws IOException {
+        while (pos < json.length && isWhitespace(json[pos])) {
+            pos++;
+        }
+        if (pos != json.length) {
+            throw malformed();
+        }
+    }
+
+    private IOException malformed() {
+        return new IOException("Malformed kline JSON at offset " + pos);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.tradinggame.clients;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.PriceData;
+
+/**
+ * Read-only candle history of one symbol, served straight from the memory-mapped month
+ * files of {@link BinaryCandleCache}. Nothing is copied onto the heap: candles are read
+ * from the mapped columns on access, so multi-year histories cost only page cache, which
+ * the OS shares between every process (and every game) mapping the same files.
+ *
+ * Index access is O(log months) to find the segment, timestamp lookup is a binary search
+ * over the time column.
+ */
+public class MappedCandleStore implements CandleSeries {
+    // Mappings are shared within the process; a rewritten month file gets a new entry
+    private static final Map<Path, Segment> SEGMENTS = new ConcurrentHashMap<>();
+
+    private final String symbol;
+    private final Segment[] segments;
+    private final int[] segmentStart;
+    private final int offset;
+    private final int size;
+
+    private MappedCandleStore(String symbol, Segment[] segments, int[] segmentStart, int offset, int size) {
+        this.symbol = symbol;
+        this.segments = segments;
+        this.segmentStart = segmentStart;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public static MappedCandleStore open(String symbol, LocalDate from, LocalDate to) throws IOException {
+        return open(symbol, Paths.get("cache", symbol), from, to);
+    }
+
+    /**
+     * Maps every cached month between the two dates and trims the view to [from, to].
+     * Days missing from the cache are simply absent from the store.
+     */
+    public static MappedCandleStore open(String symbol, Path symbolDir, LocalDate from, LocalDate to) throws IOException {
+        BinaryCandleCache cache = new BinaryCandleCache(symbolDir);
+        List<Segment> segments = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            Path file = cache.getMonthFile(month);
+            if (Files.exists(file)) {
+                Segment segment = mapSegment(file);
+                if (segment.count > 0) {
+                    segments.add(segment);
+                }
+            }
+        }
+        int[] segmentStart = new int[segments.size() + 1];
+        for (int i = 0; i < segments.size(); i++) {
+            segmentStart[i + 1] = segmentStart[i] + segments.get(i).count;
+        }
+        MappedCandleStore all = new MappedCandleStore(symbol, segments.toArray(new Segment[0]), segmentStart,
+            0, segmentStart[segments.size()]);
+        int start = all.lowerBound(CandleSeries.toEpochMillis(from));
+        int end = all.lowerBound(CandleSeries.toEpochMillis(to.plusDays(1)));
+        return all.view(start, end);
+    }
+
+    private static Segment mapSegment(Path file) throws IOException {
+        Path key = file.toAbsolutePath();
+        long modified = Files.getLastModifiedTime(key).toMillis();
+        long length = Files.size(key);
+        Segment segment = SEGMENTS.get(key);
+        if (segment == null || segment.modified != modified || segment.length != length) {
+            segment = new Segment(key, modified, length);
+            SEGMENTS.put(key, segment);
+        }
+        return segment;
+    }
+
+    public String getSymbol() { return symbol; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public long getTime(int index) {
+        int global = checkIndex(index);
+        int s = segmentOf(global);
+        return segments[s].getTime(global - segmentStart[s]);
+    }
+
+    @Override
+    public double getOpen(int index) { return getColumn(index, 1); }
+    @Override
+    public double getHigh(int index) { return getColumn(index, 2); }
+    @Override
+    public double getLow(int index) { return getColumn(index, 3); }
+    @Override
+    public double getClose(int index) { return getColumn(index, 4); }
+    @Override
+    public double getVolume(int index) { return getColumn(index, 5); }
+
+    @Override
+    public PriceData get(int index) {
+        int global = checkIndex(index);
+        int s = segmentOf(global);
+        Segment segment = segments[s];
+        int local = global - segmentStart[s];
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(segment.getTime(local) / 1000, 0, ZoneOffset.UTC);
+        return new PriceData(dateTime, segment.getColumn(local, 1), segment.getColumn(local, 2),
+            segment.getColumn(local, 3), segment.getColumn(local, 4), segment.getColumn(local, 5));
+    }
+
+    @Override
+    public int indexOf(long epochMillis) {
+        return lowerBound(epochMillis) - offset;
+    }
+
+    public int indexOf(LocalDateTime dateTime) {
+        return indexOf(CandleSeries.toEpochMillis(dateTime));
+    }
+
+    @Override
+    public MappedCandleStore view(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("view(" + fromIndex + ", " + toIndex + ") of " + size);
+        }
+        return new MappedCandleStore(symbol, segments, segmentStart, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Read-only list view; PriceData objects are created on access and not retained.
+     */
+    @Override
+    public List<PriceData> asList() {
+        return new PriceDataView();
+    }
+
+    private double getColumn(int index, int column) {
+        int global = checkIndex(index);
+        int s = segmentOf(global);
+        return segments[s].getColumn(global - segmentStart[s], column);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        return offset + index;
+    }
+
+    private int segmentOf(int global) {
+        int low = 0;
+        int high = segments.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segmentStart[mid] <= global) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Global index (ignoring offset/size) of the first candle at or after the given time,
+    // clamped to this view
+    private int lowerBound(long epochMillis) {
+        int low = offset;
+        int high = offset + size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int s = segmentOf(mid);
+            if (segments[s].getTime(mid - segmentStart[s]) < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private class PriceDataView extends AbstractList<PriceData> implements RandomAccess {
+        @Override
+        public PriceData get(int index) {
+            return MappedCandleStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class Segment {
+        private final long modified;
+        private final long length;
+        private final ByteBuffer buffer;
+        private final int count;
+
+        Segment(Path file, long modified, long length) throws IOException {
+            this.modified = modified;
+            this.length = length;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                this.buffer = mapped;
+            }
+            if (buffer.capacity() < BinaryCandleCache.HEADER_SIZE || buffer.getInt(0) != BinaryCandleCache.MAGIC
+                    || buffer.getInt(4) != BinaryCandleCache.VERSION) {
+                throw new IOException("Not a candle cache file: " + file);
+            }
+            this.count = buffer.getInt(8);
+            if (buffer.capacity() != BinaryCandleCache.HEADER_SIZE + (long) count * BinaryCandleCache.COLUMNS * 8) {
+                throw new IOException("Truncated candle cache file: " + file);
+            }
+        }
+
+        long getTime(int index) {
+            return buffer.getLong(BinaryCandleCache.HEADER_SIZE + index * 8);
+        }
+
+        double getColumn(int index, int column) {
+            return buffer.getDouble(BinaryCandleCache.HEADER_SIZE + (column * count + index) * 8);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+package com.tradinggame.clients;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import com.tradinggame.metrics.Counter;
+import com.tradinggame.metrics.Histogram;
+import com.tradinggame.metrics.MetricsRegistry;
+import com.tradinggame.utils.GameLog;
+
+/**
+ * Sends Binance requests within the API's request-weight limit. Every request declares its
+ * weight and is dispatched from a token bucket that refills at a safe share of the limit per
+ * minute. The bucket is corrected with the X-MBX-USED-WEIGHT-1M header of every response,
+ * so weight used by other processes on the same IP is accounted for, and the whole
+ * scheduler pauses for Retry-After on a 429 or 418. Server errors and timeouts are retried
+ * with exponential backoff.
+ *
+ * Requests of the priority symbol (the one on screen) are sent before all others; requests
+ * of the same priority go out in submission order.
+ */
+public class RequestScheduler {
+    public static final int WEIGHT_LIMIT = 6000;
+    // Sustained rate plus burst stay within WEIGHT_LIMIT in any fixed minute
+    private static final double WEIGHT_PER_MINUTE = WEIGHT_LIMIT * 0.8;
+    private static final double BURST = WEIGHT_LIMIT - WEIGHT_PER_MINUTE;
+    private static final double WEIGHT_PER_NANO = WEIGHT_PER_MINUTE / TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 60;
+    // Longer bans fail the request instead of stalling the game
+    private static final long MAX_RETRY_AFTER_SECONDS = 5 * 60;
+    private static final String USED_WEIGHT_HEADER = "X-MBX-USED-WEIGHT-1M";
+    private static final Histogram REQUEST_NANOS = MetricsRegistry.shared().histogram("binance.request.nanos");
+    private static final Counter RETRIES = MetricsRegistry.shared().counter("binance.retries");
+    private static final Counter RATE_LIMITED = MetricsRegistry.shared().counter("binance.rateLimited");
+    private static final Counter FAILURES = MetricsRegistry.shared().counter("binance.failures");
+
+    private static final RequestScheduler SHARED = new RequestScheduler(HttpTransport.client());
+
+    private final OkHttpClient client;
+    private final List<Pending> queue = new ArrayList<>();
+    private double tokens = BURST;
+    private long refilledAt = System.nanoTime();
+    private long pausedUntil = refilledAt;
+    private long nextSequence;
+    private String prioritySymbol;
+    private Thread dispatcher;
+
+    RequestScheduler(OkHttpClient client) {
+        this.client = client;
+    }
+
+    public static RequestScheduler shared() {
+        return SHARED;
+    }
+
+    public synchronized void setPrioritySymbol(String symbol) {
+        this.prioritySymbol = symbol;
+    }
+
+    /**
+     * Queues a request and returns its response body as raw bytes. Cancelling the future drops the
+     * request from the queue or cancels the call.
+     */
+    public CompletableFuture<byte[]> submit(Request request, String symbol, int weight) {
+        Pending pending = new Pending(request, symbol, weight);
+        pending.result.whenComplete((body, e) -> {
+            if (pending.result.isCancelled()) {
+                cancel(pending);
+            }
+        });
+        synchronized (this) {
+            pending.sequence = nextSequence++;
+            queue.add(pending);
+            if (dispatcher == null) {
+                dispatcher = new Thread(this::dispatchLoop, "binance-request-scheduler");
+                dispatcher.setDaemon(true);
+                dispatcher.start();
+            }
+            notifyAll();
+        }
+        return pending.result;
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            Pending next;
+            synchronized (this) {
+                long waitNanos;
+                while ((waitNanos = nextDispatch()) != 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                next = take();
+            }
+            send(next);
+        }
+    }
+
+    // Nanoseconds until a request may be sent (Long.MAX_VALUE when none is queued), 0 if now
+    private long nextDispatch() {
+        long now = System.nanoTime();
+        refill(now);
+        if (now < pausedUntil) {
+            return pausedUntil - now;
+        }
+        Pending best = best(now);
+        if (best == null) {
+            long wake = Long.MAX_VALUE;
+            for (Pending pending : queue) {
+                wake = Math.min(wake, pending.notBefore - now);
+            }
+            return Math.max(wake, 1);
+        }
+        if (tokens < best.weight) {
+            return Math.max((long) ((best.weight - tokens) / WEIGHT_PER_NANO), 1);
+        }
+        return 0;
+    }
+
+    private Pending take() {
+        Pending next = best(System.nanoTime());
+        queue.remove(next);
+        tokens -= next.weight;
+        return next;
+    }
+
+    private Pending best(long now) {
+        Pending best = null;
+        for (Pending pending : queue) {
+            if (pending.notBefore > now) {
+                continue;
+            }
+            if (best == null || isPriority(pending) && !isPriority(best)
+                    || isPriority(pending) == isPriority(best) && pending.sequence < best.sequence) {
+                best = pending;
+            }
+        }
+        return best;
+    }
+
+    private boolean isPriority(Pending pending) {
+        return pending.symbol.equals(prioritySymbol);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(BURST, tokens + (now - refilledAt) * WEIGHT_PER_NANO);
+        refilledAt = now;
+    }
+
+    private void send(Pending pending) {
+        Call call = client.newCall(pending.request);
+        synchronized (pending) {
+            if (pending.result.isDone()) {
+                return;
+            }
+            pending.call = call;
+        }
+        long sentAt = System.nanoTime();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                FAILURES.increment();
+                if (e instanceof UnknownHostException || e instanceof ConnectException || call.isCanceled()) {
+                    // Offline or cancelled: fail right away so callers can fall back
+                    pending.result.completeExceptionally(e);
+                } else {
+                    retry(pending, e, backoffMillis(pending));
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    handle(pending, response);
+                } catch (IOException e) {
+                    retry(pending, e, backoffMillis(pending));
+                } finally {
+                    REQUEST_NANOS.recordSince(sentAt);
+                }
+            }
+        });
+    }
+
+    private void handle(Pending pending, Response response) throws IOException {
+        String usedWeight = response.header(USED_WEIGHT_HEADER);
+        if (usedWeight != null) {
+            try {
+                updateUsedWeight(Integer.parseInt(usedWeight.trim()));
+            } catch (NumberFormatException ignored) {
+                // Keep the local estimate
+            }
+        }
+        int code = response.code();
+        if (code == 429 || code == 418) {
+            long retryAfter = parseRetryAfter(response.header("Retry-After"));
+            RATE_LIMITED.increment();
+            GameLog.warn("Binance rate limit hit (%d), pausing requests for %ds", code, retryAfter);
+            pause(TimeUnit.SECONDS.toNanos(retryAfter));
+            IOException error = new IOException("Rate limited by Binance: " + response);
+            if (retryAfter > MAX_RETRY_AFTER_SECONDS) {
+                pending.result.completeExceptionally(error);
+            } else {
+                retry(pending, error, 0);
+            }
+        } else if (code >= 500) {
+            retry(pending, new IOException("Unexpected response: " + response), backoffMillis(pending));
+        } else if (!response.isSuccessful()) {
+            pending.result.completeExceptionally(new IOException("Unexpected response: " + response));
+        } else {
+            pending.result.complete(response.body().bytes());
+        }
+    }
+
+    /**
+     * Caps the bucket so that what is left of the server's current minute, plus what the
+     * bucket refills before the minute ends, fits into the weight Binance says is unused.
+     */
+    private synchronized void updateUsedWeight(int used) {
+        long now = System.nanoTime();
+        refill(now);
+        long millisLeftInMinute = 60_000 - System.currentTimeMillis() % 60_000;
+        double refillUntilReset = TimeUnit.MILLISECONDS.toNanos(millisLeftInMinute) * WEIGHT_PER_NANO;
+        tokens = Math.min(tokens, WEIGHT_LIMIT - used - refillUntilReset);
+    }
+
+    private synchronized void pause(long nanos) {
+        long now = System.nanoTime();
+        pausedUntil = Math.max(pausedUntil, now + nanos);
+        tokens = Math.min(tokens, 0);
+        notifyAll();
+    }
+
+    private void retry(Pending pending, IOException error, long delayMillis) {
+        if (++pending.attempts >= MAX_ATTEMPTS || pending.result.isDone()) {
+            pending.result.completeExceptionally(error);
+            return;
+        }
+        RETRIES.increment();
+        synchronized (this) {
+            pending.notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            synchronized (pending) {
+                pending.call = null;
+            }
+            queue.add(pending);
+            notifyAll();
+        }
+    }
+
+    private void cancel(Pending pending) {
+        synchronized (this) {
+            queue.remove(pending);
+        }
+        synchronized (pending) {
+            if (pending.call != null) {
+                pending.call.cancel();
+            }
+        }
+    }
+
+    private static long backoffMillis(Pending pending) {
+        return BASE_BACKOFF_MILLIS << pending.attempts;
+    }
+
+    private static long parseRetryAfter(String header) {
+        if (header != null) {
+            try {
+                return Math.max(Long.parseLong(header.trim()), 1);
+            } catch (NumberFormatException ignored) {
+                // Not in seconds; fall through to the default
+            }
+        }
+        return DEFAULT_RETRY_AFTER_SECONDS;
+    }
+
+    private static class Pending {
+        final Request request;
+        final String symbol;
+        final int weight;
+        final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        long sequence;
+        long notBefore = Long.MIN_VALUE;
+        int attempts;
+        Call call;
+
+        Pending(Request request, String symbol, int weight) {
+            this.request = request;
+            this.symbol = symbol;
+            this.weight = weight;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.tradinggame.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Read-only, index-addressed view of a time-ordered candle history. Candle open times are
+ * epoch milliseconds (UTC); the close price is what PriceData calls "price".
+ */
+public interface CandleSeries {
+    int size();
+
+    long getTime(int index);
+
+    double getOpen(int index);
+
+    double getHigh(int index);
+
+    double getLow(int index);
+
+    double getClose(int index);
+
+    double getVolume(int index);
+
+    /**
+     * Materialises one candle as a PriceData, for code that still works with objects.
+     */
+    PriceData get(int index);
+
+    /**
+     * Index of the first candle opening at or after the given time, or size() if there is none.
+     */
+    int indexOf(long epochMillis);
+
+    CandleSeries view(int fromIndex, int toIndex);
+
+    List<PriceData> asList();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    default LocalDateTime getTimestamp(int index) {
+        return LocalDateTime.ofEpochSecond(getTime(index) / 1000, 0, ZoneOffset.UTC);
+    }
+
+    default int indexOf(LocalDate date) {
+        return indexOf(toEpochMillis(date));
+    }
+
+    /**
+     * Candles opening on the given UTC day.
+     */
+    default CandleSeries getDay(LocalDate date) {
+        return view(indexOf(date), indexOf(date.plusDays(1)));
+    }
+
+    static long toEpochMillis(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1000;
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000;
+    }
+}
\ No newline at end of file
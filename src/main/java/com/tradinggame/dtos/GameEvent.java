@@ -0,0 +1,15 @@
+package com.tradinggame.dtos;
+
+/**
+ * What changed in the game state. Listeners receive the set of events since their last
+ * notification, so they can skip refreshes that do not concern them.
+ */
+public enum GameEvent {
+    GAME_STARTED,
+    DAY_ADVANCED,
+    ORDER_PLACED,
+    ORDER_CANCELLED,
+    ORDERS_EXECUTED,
+    SYMBOL_CHANGED,
+    PRICES_LOADED
+}
\ No newline at end of file
@@ -1,5 +1,56 @@
 package com.tradinggame.dtos;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface GameStateListener {
     void onGameStateChanged();
-} 
\ No newline at end of file
+
+    /**
+     * Called once per coalesced burst of changes with everything that happened in it.
+     * Listeners that only care about some events override this instead.
+     */
+    default void onGameStateChanged(Set<GameEvent> events) {
+        onGameStateChanged();
+    }
+
+    /**
+     * Name the listener's refresh times are reported under: the simple name of the class
+     * that declares it, so anonymous listeners and lambdas are named after their panel.
+     */
+    default String getName() {
+        return ownerName(getClass());
+    }
+
+    /**
+     * A listener that runs refresh when any of the given events is among the changes.
+     */
+    static GameStateListener forEvents(Runnable refresh, GameEvent first, GameEvent... rest) {
+        Set<GameEvent> relevant = EnumSet.of(first, rest);
+        return new GameStateListener() {
+            @Override
+            public void onGameStateChanged() {
+                refresh.run();
+            }
+
+            @Override
+            public void onGameStateChanged(Set<GameEvent> events) {
+                if (!Collections.disjoint(events, relevant)) {
+                    refresh.run();
+                }
+            }
+
+            @Override
+            public String getName() {
+                return ownerName(refresh.getClass());
+            }
+        };
+    }
+
+    private static String ownerName(Class<?> type) {
+        String name = type.getName();
+        int nested = name.indexOf('$');
+        return name.substring(name.lastIndexOf('.') + 1, nested > 0 ? nested : name.length());
+    }
+}
\ No newline at end of file
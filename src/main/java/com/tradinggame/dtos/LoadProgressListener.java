@@ -0,0 +1,5 @@
+package com.tradinggame.dtos;
+
+public interface LoadProgressListener {
+    void onLoadProgress(int completedChunks, int totalChunks);
+}
\ No newline at end of file
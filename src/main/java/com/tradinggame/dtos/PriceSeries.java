@@ -0,0 +1,484 @@
+package com.tradinggame.dtos;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Growable columnar candle history: parallel primitive arrays for open time and OHLCV,
+ * i.e. 48 bytes per candle and no per-candle objects. Views share the columns of their
+ * parent and are read-only.
+ *
+ * Candles must be appended in time order. The series keeps a day index (UTC epoch day to
+ * first candle of that day) alongside the columns, so day lookups are O(1).
+ *
+ * One thread may append while others read. Appends write past the published size and then
+ * publish the new size; growing swaps in copied columns before that. Readers read the size
+ * first, so every candle below it is visible without locks or copies. clear() must not run
+ * concurrently with readers of the series itself (views are unaffected).
+ *
+ * Views never change, so they read their columns through final fields instead and loops
+ * over a view run at plain array speed.
+ */
+public class PriceSeries implements CandleSeries {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private volatile Columns columns;
+    private final int offset;
+    private volatile int size;
+    private final boolean view;
+    // dayStarts[d] is the index of the first candle on day firstDay + d; indexedDays is
+    // written after dayStarts, so a reader that reads it first sees a large enough array
+    private long firstDay;
+    private int[] dayStarts;
+    private volatile int indexedDays;
+
+    public PriceSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PriceSeries(int capacity) {
+        this.columns = new Columns(Math.max(capacity, 1));
+        this.offset = 0;
+        this.view = false;
+    }
+
+    private PriceSeries(Columns columns, int offset, int size) {
+        this.columns = columns;
+        this.offset = offset;
+        this.size = size;
+        this.view = true;
+    }
+
+    public static PriceSeries of(List<PriceData> prices) {
+        PriceSeries series = new PriceSeries(prices.size());
+        series.appendAll(prices);
+        return series;
+    }
+
+    public void append(long time, double open, double high, double low, double close, double volume) {
+        checkWritable();
+        int n = size;
+        Columns c = columns;
+        if (n > 0 && time < c.times[n - 1]) {
+            throw new IllegalArgumentException("Candle at " + time + " is older than the last candle");
+        }
+        if (n == c.times.length) {
+            c = grow(n + 1);
+        }
+        indexDay(n, time);
+        c.times[n] = time;
+        c.open[n] = open;
+        c.high[n] = high;
+        c.low[n] = low;
+        c.close[n] = close;
+        c.volume[n] = volume;
+        size = n + 1;
+    }
+
+    public void append(PriceData price) {
+        append(CandleSeries.toEpochMillis(price.getTimestamp()), price.getOpen(), price.getHigh(),
+            price.getLow(), price.getPrice(), price.getVolume());
+    }
+
+    public void appendAll(List<PriceData> prices) {
+        for (PriceData price : prices) {
+            append(price);
+        }
+    }
+
+    public void appendAll(CandleSeries other) {
+        checkWritable();
+        int count = other.size();
+        int n = size;
+        Columns c = columns;
+        if (n + count > c.times.length) {
+            c = grow(n + count);
+        }
+        if (other instanceof PriceSeries) {
+            PriceSeries source = (PriceSeries) other;
+            Columns from = source.columns;
+            if (count > 0 && n > 0 && from.times[source.offset] < c.times[n - 1]) {
+                throw new IllegalArgumentException("Appended candles are older than the last candle");
+            }
+            for (int i = 0; i < count; i++) {
+                indexDay(n + i, from.times[source.offset + i]);
+            }
+            System.arraycopy(from.times, source.offset, c.times, n, count);
+            System.arraycopy(from.open, source.offset, c.open, n, count);
+            System.arraycopy(from.high, source.offset, c.high, n, count);
+            System.arraycopy(from.low, source.offset, c.low, n, count);
+            System.arraycopy(from.close, source.offset, c.close, n, count);
+            System.arraycopy(from.volume, source.offset, c.volume, n, count);
+            size = n + count;
+        } else {
+            for (int i = 0; i < count; i++) {
+                append(other.getTime(i), other.getOpen(i), other.getHigh(i), other.getLow(i),
+                    other.getClose(i), other.getVolume(i));
+            }
+        }
+    }
+
+    /**
+     * Adds the candle unless one with the same open time is already present. Newer candles
+     * are appended; older ones are inserted at their place. Returns whether it was added.
+     */
+    public boolean merge(long time, double open, double high, double low, double close, double volume) {
+        checkWritable();
+        int n = size;
+        if (n == 0 || time > columns.times[n - 1]) {
+            append(time, open, high, low, close, volume);
+            return true;
+        }
+        PriceSeries candle = new PriceSeries(1);
+        candle.append(time, open, high, low, close, volume);
+        return mergeAll(candle) == 1;
+    }
+
+    /**
+     * Adds the candles of other, which must be in time order, whose open times are not in
+     * this series yet, so merging the same candles again changes nothing. Candles newer than
+     * the last one are appended in bulk; if any older ones are missing, the history is merged
+     * into fresh columns in one pass, leaving published candles and views untouched.
+     * Returns the number of candles added.
+     */
+    public int mergeAll(CandleSeries other) {
+        checkWritable();
+        int count = other.size();
+        int n = size;
+        int newer = n == 0 ? 0 : other.indexOf(columns.times[n - 1] + 1);
+        int missing = 0;
+        if (newer > 0) {
+            Columns c = columns;
+            long previous = Long.MIN_VALUE;
+            for (int i = 0; i < newer; i++) {
+                long time = other.getTime(i);
+                if (time != previous && !contains(c, n, time)) {
+                    missing++;
+                }
+                previous = time;
+            }
+            if (missing > 0) {
+                insertMissing(other, newer, missing);
+            }
+        }
+        CandleSeries tail = other.view(newer, count);
+        if (isStrictlyIncreasing(tail)) {
+            appendAll(tail);
+            return missing + tail.size();
+        }
+        int appended = 0;
+        for (int i = 0; i < tail.size(); i++) {
+            long time = tail.getTime(i);
+            if (size == 0 || time > columns.times[size - 1]) {
+                append(time, tail.getOpen(i), tail.getHigh(i), tail.getLow(i), tail.getClose(i), tail.getVolume(i));
+                appended++;
+            }
+        }
+        return missing + appended;
+    }
+
+    private static boolean isStrictlyIncreasing(CandleSeries series) {
+        for (int i = 1; i < series.size(); i++) {
+            if (series.getTime(i) <= series.getTime(i - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(Columns c, int n, long time) {
+        int index = Arrays.binarySearch(c.times, 0, n, time);
+        return index >= 0;
+    }
+
+    // Merges the first limit candles of other that are missing into fresh columns, then
+    // publishes them with a rebuilt day index
+    private void insertMissing(CandleSeries other, int limit, int missing) {
+        int n = size;
+        Columns c = columns;
+        Columns merged = new Columns(Math.max(n + missing, c.times.length));
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < n || j < limit) {
+            if (j == limit || (i < n && c.times[i] <= other.getTime(j))) {
+                while (j < limit && other.getTime(j) == c.times[i]) {
+                    j++;
+                }
+                merged.times[k] = c.times[i];
+                merged.open[k] = c.open[i];
+                merged.high[k] = c.high[i];
+                merged.low[k] = c.low[i];
+                merged.close[k] = c.close[i];
+                merged.volume[k] = c.volume[i];
+                i++;
+            } else {
+                merged.times[k] = other.getTime(j);
+                merged.open[k] = other.getOpen(j);
+                merged.high[k] = other.getHigh(j);
+                merged.low[k] = other.getLow(j);
+                merged.close[k] = other.getClose(j);
+                merged.volume[k] = other.getVolume(j);
+                // Skip duplicates within other
+                long time = other.getTime(j);
+                while (j < limit && other.getTime(j) == time) {
+                    j++;
+                }
+            }
+            k++;
+        }
+        long first = Math.floorDiv(merged.times[0], MILLIS_PER_DAY);
+        int[] starts = new int[16];
+        int days = 0;
+        for (int index = 0; index < k; index++) {
+            long day = Math.floorDiv(merged.times[index], MILLIS_PER_DAY);
+            while (first + days <= day) {
+                if (days == starts.length) {
+                    starts = Arrays.copyOf(starts, days + (days >> 1) + 1);
+                }
+                starts[days++] = index;
+            }
+        }
+        columns = merged;
+        firstDay = first;
+        dayStarts = starts;
+        indexedDays = days;
+        size = k;
+    }
+
+    /**
+     * Drops all candles. Fresh columns are allocated so existing views keep their data.
+     */
+    public void clear() {
+        checkWritable();
+        size = 0;
+        columns = new Columns(DEFAULT_CAPACITY);
+        indexedDays = 0;
+        dayStarts = null;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public long getTime(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        return columns.times[i];
+    }
+
+    @Override
+    public double getOpen(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        return columns.open[i];
+    }
+
+    @Override
+    public double getHigh(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        return columns.high[i];
+    }
+
+    @Override
+    public double getLow(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        return columns.low[i];
+    }
+
+    @Override
+    public double getClose(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        return columns.close[i];
+    }
+
+    @Override
+    public double getVolume(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        return columns.volume[i];
+    }
+
+    @Override
+    public PriceData get(int index) {
+        return new PriceData(getTimestamp(index), getOpen(index), getHigh(index), getLow(index),
+            getClose(index), getVolume(index));
+    }
+
+    @Override
+    public int indexOf(long epochMillis) {
+        int low = 0;
+        int high = size;
+        long[] times = columns.times;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[offset + mid] < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first candle on or after the given UTC day, read from the day index.
+     */
+    @Override
+    public int indexOf(LocalDate date) {
+        if (view) {
+            return CandleSeries.super.indexOf(date);
+        }
+        long day = date.toEpochDay();
+        int days = indexedDays;
+        if (days == 0 || day <= firstDay) {
+            return 0;
+        }
+        if (day >= firstDay + days) {
+            return size;
+        }
+        // A concurrent append indexes its days before it publishes the candles
+        return Math.min(dayStarts[(int) (day - firstDay)], size);
+    }
+
+    @Override
+    public PriceSeries view(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return new View(columns, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public List<PriceData> asList() {
+        return new PriceDataView();
+    }
+
+    private void checkWritable() {
+        if (view) {
+            throw new UnsupportedOperationException("Price series views are read-only");
+        }
+    }
+
+    // Records the candle stored at index; candles are indexed in time order
+    private void indexDay(int index, long time) {
+        long day = Math.floorDiv(time, MILLIS_PER_DAY);
+        int days = indexedDays;
+        if (days == 0) {
+            firstDay = day;
+            dayStarts = new int[16];
+        }
+        if (firstDay + days > day) {
+            return;
+        }
+        while (firstDay + days <= day) {
+            if (days == dayStarts.length) {
+                dayStarts = Arrays.copyOf(dayStarts, days + (days >> 1) + 1);
+            }
+            dayStarts[days++] = index;
+        }
+        indexedDays = days;
+    }
+
+    // Publishes copied columns with room for minCapacity candles and returns them
+    private Columns grow(int minCapacity) {
+        Columns old = columns;
+        Columns grown = new Columns(old, Math.max(minCapacity, old.times.length + (old.times.length >> 1)));
+        columns = grown;
+        return grown;
+    }
+
+    private static final class View extends PriceSeries {
+        private final Columns data;
+        private final int from;
+        private final int length;
+
+        View(Columns data, int from, int length) {
+            super(data, from, length);
+            this.data = data;
+            this.from = from;
+            this.length = length;
+        }
+
+        @Override
+        public int size() { return length; }
+
+        @Override
+        public long getTime(int index) { return data.times[from + Objects.checkIndex(index, length)]; }
+
+        @Override
+        public double getOpen(int index) { return data.open[from + Objects.checkIndex(index, length)]; }
+
+        @Override
+        public double getHigh(int index) { return data.high[from + Objects.checkIndex(index, length)]; }
+
+        @Override
+        public double getLow(int index) { return data.low[from + Objects.checkIndex(index, length)]; }
+
+        @Override
+        public double getClose(int index) { return data.close[from + Objects.checkIndex(index, length)]; }
+
+        @Override
+        public double getVolume(int index) { return data.volume[from + Objects.checkIndex(index, length)]; }
+
+        @Override
+        public int indexOf(long epochMillis) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (data.times[from + mid] < epochMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        public PriceSeries view(int fromIndex, int toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, length);
+            return new View(data, from + fromIndex, toIndex - fromIndex);
+        }
+    }
+
+    private static final class Columns {
+        final long[] times;
+        final double[] open;
+        final double[] high;
+        final double[] low;
+        final double[] close;
+        final double[] volume;
+
+        Columns(int capacity) {
+            times = new long[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new double[capacity];
+        }
+
+        Columns(Columns from, int capacity) {
+            times = Arrays.copyOf(from.times, capacity);
+            open = Arrays.copyOf(from.open, capacity);
+            high = Arrays.copyOf(from.high, capacity);
+            low = Arrays.copyOf(from.low, capacity);
+            close = Arrays.copyOf(from.close, capacity);
+            volume = Arrays.copyOf(from.volume, capacity);
+        }
+    }
+
+    private class PriceDataView extends AbstractList<PriceData> implements RandomAccess {
+        @Override
+        public PriceData get(int index) {
+            return PriceSeries.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PriceSeries.this.size();
+        }
+    }
+}
\ No newline at end of file
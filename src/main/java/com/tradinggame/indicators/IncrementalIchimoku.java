@@ -0,0 +1,101 @@
+package com.tradinggame.indicators;
+
+import java.util.Arrays;
+
+/**
+ * Ichimoku Cloud that grows one candle at a time. The 9/26/52-period highs and lows come
+ * from sliding-window extrema, so the whole cloud costs O(n) instead of O(n * window).
+ *
+ * Values match TechnicalIndicators.calculateIchimokuCloud for the candles appended so far:
+ * Tenkan/Kijun/Chikou are NaN where undefined, Senkou A/B are 0 where nothing is projected.
+ * Chikou of a candle is filled in once the candle 26 periods later arrives.
+ */
+public class IncrementalIchimoku {
+    private static final int TENKAN_PERIOD = 9;
+    private static final int KIJUN_PERIOD = 26;
+    private static final int SENKOU_B_PERIOD = 52;
+    private static final int DISPLACEMENT = 26;
+
+    private final SlidingExtremum tenkanHigh = new SlidingExtremum(TENKAN_PERIOD, true);
+    private final SlidingExtremum tenkanLow = new SlidingExtremum(TENKAN_PERIOD, false);
+    private final SlidingExtremum kijunHigh = new SlidingExtremum(KIJUN_PERIOD, true);
+    private final SlidingExtremum kijunLow = new SlidingExtremum(KIJUN_PERIOD, false);
+    private final SlidingExtremum senkouHigh = new SlidingExtremum(SENKOU_B_PERIOD, true);
+    private final SlidingExtremum senkouLow = new SlidingExtremum(SENKOU_B_PERIOD, false);
+
+    private double[] tenkan;
+    private double[] kijun;
+    private double[] senkouA;
+    private double[] senkouB;
+    private double[] chikou;
+    // 52-period midpoint ending at each candle, projected into senkouB 26 candles later
+    private double[] senkouBase;
+    private int size;
+
+    public IncrementalIchimoku() {
+        this(64);
+    }
+
+    public IncrementalIchimoku(int capacity) {
+        int initial = Math.max(capacity, 1);
+        tenkan = new double[initial];
+        kijun = new double[initial];
+        senkouA = new double[initial];
+        senkouB = new double[initial];
+        chikou = new double[initial];
+        senkouBase = new double[initial];
+    }
+
+    public void append(double high, double low, double close) {
+        if (size == tenkan.length) {
+            grow();
+        }
+        int i = size;
+        tenkan[i] = midpoint(tenkanHigh, tenkanLow, high, low);
+        kijun[i] = midpoint(kijunHigh, kijunLow, high, low);
+        senkouBase[i] = midpoint(senkouHigh, senkouLow, high, low);
+        chikou[i] = Double.NaN;
+        if (i >= DISPLACEMENT) {
+            chikou[i - DISPLACEMENT] = close;
+        }
+        int source = i - DISPLACEMENT;
+        senkouA[i] = source >= KIJUN_PERIOD - 1 ? (tenkan[source] + kijun[source]) / 2.0 : 0.0;
+        senkouB[i] = source >= SENKOU_B_PERIOD - 1 ? senkouBase[source] : 0.0;
+        size++;
+    }
+
+    public int size() { return size; }
+    public double getTenkan(int index) { return tenkan[checkIndex(index)]; }
+    public double getKijun(int index) { return kijun[checkIndex(index)]; }
+    public double getSenkouA(int index) { return senkouA[checkIndex(index)]; }
+    public double getSenkouB(int index) { return senkouB[checkIndex(index)]; }
+    public double getChikou(int index) { return chikou[checkIndex(index)]; }
+
+    public TechnicalIndicators.IchimokuCloud toCloud() {
+        return new TechnicalIndicators.IchimokuCloud(Arrays.copyOf(tenkan, size), Arrays.copyOf(kijun, size),
+            Arrays.copyOf(senkouA, size), Arrays.copyOf(senkouB, size), Arrays.copyOf(chikou, size));
+    }
+
+    private static double midpoint(SlidingExtremum highs, SlidingExtremum lows, double high, double low) {
+        double maxHigh = highs.add(high);
+        double minLow = lows.add(low);
+        return highs.isFull() ? (maxHigh + minLow) / 2.0 : Double.NaN;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        return index;
+    }
+
+    private void grow() {
+        int capacity = tenkan.length + (tenkan.length >> 1) + 1;
+        tenkan = Arrays.copyOf(tenkan, capacity);
+        kijun = Arrays.copyOf(kijun, capacity);
+        senkouA = Arrays.copyOf(senkouA, capacity);
+        senkouB = Arrays.copyOf(senkouB, capacity);
+        chikou = Arrays.copyOf(chikou, capacity);
+        senkouBase = Arrays.copyOf(senkouBase, capacity);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.tradinggame.indicators;
+
+import java.util.Arrays;
+import com.tradinggame.dtos.CandleSeries;
+
+/**
+ * Per-symbol cache of indicator series for the chart. Each sync only feeds the candles
+ * appended since the previous one through the streaming indicators; the history is
+ * recomputed from scratch only when it was replaced or cleared.
+ *
+ * RSI, ATR% and Bollinger Bands are computed over the full history (with warm-up), VWAP
+ * and the Ichimoku Cloud over the visible history. Index i of a value series belongs to candle i of its history.
+ */
+public class IndicatorEngine {
+    public static final int RSI_PERIOD = 14;
+    public static final int ATR_PERIOD = 14;
+    public static final int BOLLINGER_PERIOD = 20;
+    public static final double BOLLINGER_STD_DEV = 2;
+
+    private final Feed full = new Feed();
+    private final Feed visible = new Feed();
+
+    private StreamingIndicators.RSI rsi;
+    private StreamingIndicators.ATRPercent atrPercent;
+    private StreamingIndicators.Bollinger bollinger;
+    private StreamingIndicators.VWAP vwap;
+    private IncrementalIchimoku ichimoku = new IncrementalIchimoku();
+
+    private double[] rsiValues = new double[0];
+    private double[] atrPercentValues = new double[0];
+    private double[] upperBand = new double[0];
+    private double[] middleBand = new double[0];
+    private double[] lowerBand = new double[0];
+    private double[] vwapValues = new double[0];
+
+    public synchronized void sync(CandleSeries allPrices, CandleSeries visiblePrices) {
+        if (full.needsReset(allPrices)) {
+            rsi = new StreamingIndicators.RSI(RSI_PERIOD);
+            atrPercent = new StreamingIndicators.ATRPercent(ATR_PERIOD);
+            bollinger = new StreamingIndicators.Bollinger(BOLLINGER_PERIOD, BOLLINGER_STD_DEV);
+            full.reset(allPrices);
+        }
+        int from = full.processed;
+        int to = allPrices.size();
+        if (to > rsiValues.length) {
+            int capacity = Math.max(to, rsiValues.length + (rsiValues.length >> 1));
+            rsiValues = Arrays.copyOf(rsiValues, capacity);
+            atrPercentValues = Arrays.copyOf(atrPercentValues, capacity);
+            upperBand = Arrays.copyOf(upperBand, capacity);
+            middleBand = Arrays.copyOf(middleBand, capacity);
+            lowerBand = Arrays.copyOf(lowerBand, capacity);
+        }
+        for (int i = from; i < to; i++) {
+            double close = allPrices.getClose(i);
+            rsiValues[i] = rsi.update(close);
+            atrPercentValues[i] = atrPercent.update(allPrices.getHigh(i), allPrices.getLow(i), close);
+            bollinger.update(close);
+            upperBand[i] = bollinger.getUpper();
+            middleBand[i] = bollinger.getMiddle();
+            lowerBand[i] = bollinger.getLower();
+        }
+        full.advance(allPrices, to);
+
+        if (visible.needsReset(visiblePrices)) {
+            vwap = new StreamingIndicators.VWAP();
+            ichimoku = new IncrementalIchimoku(visiblePrices.size());
+            visible.reset(visiblePrices);
+        }
+        from = visible.processed;
+        to = visiblePrices.size();
+        if (to > vwapValues.length) {
+            vwapValues = Arrays.copyOf(vwapValues, Math.max(to, vwapValues.length + (vwapValues.length >> 1)));
+        }
+        for (int i = from; i < to; i++) {
+            vwapValues[i] = vwap.update(visiblePrices.getClose(i), visiblePrices.getVolume(i));
+            ichimoku.append(visiblePrices.getHigh(i), visiblePrices.getLow(i), visiblePrices.getClose(i));
+        }
+        visible.advance(visiblePrices, to);
+    }
+
+    public synchronized void reset() {
+        full.reset(null);
+        visible.reset(null);
+    }
+
+    // Values of the full history; NaN until the indicator window is filled
+    public synchronized double getRsi(int index) { return rsiValues[checkIndex(index, full)]; }
+    public synchronized double getAtrPercent(int index) { return atrPercentValues[checkIndex(index, full)]; }
+    public synchronized double getUpperBand(int index) { return upperBand[checkIndex(index, full)]; }
+    public synchronized double getMiddleBand(int index) { return middleBand[checkIndex(index, full)]; }
+    public synchronized double getLowerBand(int index) { return lowerBand[checkIndex(index, full)]; }
+
+    // Values of the visible history
+    public synchronized double getVwap(int index) { return vwapValues[checkIndex(index, visible)]; }
+    public synchronized IncrementalIchimoku getIchimoku() { return ichimoku; }
+
+    private static int checkIndex(int index, Feed feed) {
+        if (index < 0 || index >= feed.processed) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + feed.processed + " computed values");
+        }
+        return index;
+    }
+
+    /**
+     * Tracks how far a history has been fed, and recognises when it is no longer the same
+     * history: another series instance, fewer candles, or a different last fed candle.
+     */
+    private static class Feed {
+        private CandleSeries source;
+        private int processed;
+        private long lastTime;
+
+        boolean needsReset(CandleSeries series) {
+            return series != source || series.size() < processed
+                || (processed > 0 && series.getTime(processed - 1) != lastTime);
+        }
+
+        void reset(CandleSeries series) {
+            source = series;
+            processed = 0;
+        }
+
+        void advance(CandleSeries series, int count) {
+            processed = count;
+            if (count > 0) {
+                lastTime = series.getTime(count - 1);
+            }
+        }
+    }
+}
\ No newline at end of file
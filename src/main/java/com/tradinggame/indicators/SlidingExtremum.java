@@ -0,0 +1,52 @@
+package com.tradinggame.indicators;
+
+/**
+ * Maximum or minimum of the last window values, in amortised O(1) per added value. Keeps a
+ * monotonic deque of (index, value) pairs in primitive ring buffers: values that can never
+ * be the extremum again are dropped from the back, expired ones from the front.
+ */
+public class SlidingExtremum {
+    private final int window;
+    private final boolean max;
+    private final int[] indices;
+    private final double[] values;
+    private int head;
+    private int size;
+    private int count;
+
+    public SlidingExtremum(int window, boolean max) {
+        this.window = window;
+        this.max = max;
+        this.indices = new int[window];
+        this.values = new double[window];
+    }
+
+    /**
+     * Adds the next value and returns the extremum of the window ending with it.
+     */
+    public double add(double value) {
+        if (size > 0 && indices[head] <= count - window) {
+            head = (head + 1) % window;
+            size--;
+        }
+        while (size > 0) {
+            double back = values[(head + size - 1) % window];
+            if (max ? back > value : back < value) {
+                break;
+            }
+            size--;
+        }
+        int slot = (head + size) % window;
+        indices[slot] = count++;
+        values[slot] = value;
+        size++;
+        return values[head];
+    }
+
+    /**
+     * True once window values have been added, i.e. the extremum covers a whole window.
+     */
+    public boolean isFull() {
+        return count >= window;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.tradinggame.indicators;
+
+/**
+ * Indicators that are fed one candle at a time and update in O(1), giving the same values
+ * as the matching TechnicalIndicators method evaluated on the window ending at that candle.
+ * Values are NaN until the window is full.
+ */
+public class StreamingIndicators {
+
+    /**
+     * RSI over the last period close-to-close changes, averaged with a simple rolling mean
+     * like TechnicalIndicators.calculateRSI on a period + 1 window.
+     */
+    public static class RSI {
+        private final int period;
+        private final double[] gains;
+        private final double[] losses;
+        private double gainSum;
+        private double lossSum;
+        private int lossCount;
+        private double prevClose = Double.NaN;
+        private int count;
+
+        public RSI(int period) {
+            this.period = period;
+            this.gains = new double[period];
+            this.losses = new double[period];
+        }
+
+        public double update(double close) {
+            if (Double.isNaN(prevClose)) {
+                prevClose = close;
+                return Double.NaN;
+            }
+            double change = close - prevClose;
+            prevClose = close;
+            int slot = count % period;
+            if (losses[slot] > 0) {
+                lossCount--;
+            }
+            gainSum -= gains[slot];
+            lossSum -= losses[slot];
+            gains[slot] = Math.max(change, 0);
+            losses[slot] = Math.max(-change, 0);
+            gainSum += gains[slot];
+            lossSum += losses[slot];
+            if (losses[slot] > 0) {
+                lossCount++;
+            }
+            count++;
+            if (count < period) {
+                return Double.NaN;
+            }
+            // Rolling sums can drift by a few ulps, so test for losses by count
+            if (lossCount == 0) {
+                return 100.0;
+            }
+            double rs = Math.max(gainSum, 0) / lossSum;
+            return 100 - (100 / (1 + rs));
+        }
+    }
+
+    /**
+     * ATR as a percentage of the close, with the true range averaged over the last period
+     * candles like TechnicalIndicators.calculateATRPercent.
+     */
+    public static class ATRPercent {
+        private final int period;
+        private final double[] ranges;
+        private double rangeSum;
+        private double prevClose = Double.NaN;
+        private int count;
+
+        public ATRPercent(int period) {
+            this.period = period;
+            this.ranges = new double[period];
+        }
+
+        public double update(double high, double low, double close) {
+            if (Double.isNaN(prevClose)) {
+                prevClose = close;
+                return Double.NaN;
+            }
+            double tr = Math.max(high - low, Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+            prevClose = close;
+            int slot = count % period;
+            rangeSum += tr - ranges[slot];
+            ranges[slot] = tr;
+            count++;
+            if (count < period) {
+                return Double.NaN;
+            }
+            if (close == 0) {
+                return 0;
+            }
+            return (rangeSum / period / close) * 100.0;
+        }
+    }
+
+    /**
+     * Bollinger Bands over the last period closes. Mean and variance are kept with a
+     * sliding-window Welford update; the band width uses the sample standard deviation.
+     */
+    public static class Bollinger {
+        private final int period;
+        private final double multiplier;
+        private final double[] window;
+        private double mean;
+        private double m2;
+        private int count;
+        private double upper = Double.NaN;
+        private double middle = Double.NaN;
+        private double lower = Double.NaN;
+
+        public Bollinger(int period, double multiplier) {
+            this.period = period;
+            this.multiplier = multiplier;
+            this.window = new double[period];
+        }
+
+        public void update(double close) {
+            int slot = count % period;
+            if (count < period) {
+                double delta = close - mean;
+                mean += delta / (count + 1);
+                m2 += delta * (close - mean);
+            } else {
+                double old = window[slot];
+                double oldMean = mean;
+                mean += (close - old) / period;
+                m2 += (close - old) * (close - mean + old - oldMean);
+                m2 = Math.max(m2, 0);
+            }
+            window[slot] = close;
+            count++;
+            if (count < period) {
+                return;
+            }
+            double stdDev = period > 1 ? Math.sqrt(m2 / (period - 1)) : 0;
+            middle = mean;
+            upper = mean + multiplier * stdDev;
+            lower = mean - multiplier * stdDev;
+        }
+
+        public double getUpper() { return upper; }
+        public double getMiddle() { return middle; }
+        public double getLower() { return lower; }
+    }
+
+    /**
+     * Volume-weighted average close since the first candle fed in.
+     */
+    public static class VWAP {
+        private double priceVolume;
+        private double volume;
+
+        public double update(double close, double candleVolume) {
+            priceVolume += close * candleVolume;
+            volume += candleVolume;
+            return volume > 0 ? priceVolume / volume : Double.NaN;
+        }
+    }
+}
\ No newline at end of file
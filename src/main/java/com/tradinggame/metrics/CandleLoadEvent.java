@@ -0,0 +1,42 @@
+package com.tradinggame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event around one BinanceApiClient load of a symbol's candles for a date range.
+ */
+@Name("com.tradinggame.CandleLoad")
+@Label("Candle Load")
+@Category({"Trading Game", "Loading"})
+@Description("Candles of a date range served from the memory cache, the disk cache or Binance")
+public class CandleLoadEvent extends Event {
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    @Label("Memory Cache Days")
+    public int memoryHitDays;
+
+    @Label("Disk Cache Days")
+    public int diskHitDays;
+
+    @Label("Fetched Days")
+    public int fetchedDays;
+
+    @Label("Candles")
+    public int candles;
+
+    @Label("Network Bytes")
+    @DataAmount
+    public long networkBytes;
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.tradinggame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event around a full rebuild of the chart panel.
+ */
+@Name("com.tradinggame.ChartRebuild")
+@Label("Chart Rebuild")
+@Category({"Trading Game", "UI"})
+@Description("Building the price and indicator charts of the current symbol")
+public class ChartRebuildEvent extends Event {
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Series")
+    public int series;
+
+    @Label("Points")
+    public int points;
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.tradinggame.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event count that many threads can bump without contention.
+ */
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() { count.increment(); }
+    public void add(long delta) { count.add(delta); }
+    public long get() { return count.sum(); }
+    public void reset() { count.reset(); }
+}
\ No newline at end of file
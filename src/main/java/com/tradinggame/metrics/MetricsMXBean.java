@@ -0,0 +1,23 @@
+package com.tradinggame.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * JMX view of the metrics registry, registered as com.tradinggame:type=Metrics.
+ */
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    // count, mean, p50, p90, p99 and max of each histogram
+    Map<String, String> getHistograms();
+
+    void reset();
+
+    /**
+     * Writes all metrics to the given file and returns its absolute path.
+     */
+    String dump(String path) throws IOException;
+}
\ No newline at end of file
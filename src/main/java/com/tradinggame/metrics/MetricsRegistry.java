@@ -0,0 +1,149 @@
+package com.tradinggame.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import com.tradinggame.utils.GameLog;
+
+/**
+ * Process-wide named counters, gauges and histograms of the game engine. Metrics are
+ * created on first lookup, so hot paths keep the instances in fields. Latency histograms
+ * record nanoseconds and are named *.nanos.
+ *
+ * The shared registry is exposed over JMX as com.tradinggame:type=Metrics and, when
+ * -Dtradinggame.metrics.dump=FILE is set, written to that file at exit.
+ */
+public class MetricsRegistry implements MetricsMXBean {
+    public static final String OBJECT_NAME = "com.tradinggame:type=Metrics";
+
+    private static final MetricsRegistry SHARED = createShared();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Registers or replaces a gauge, read whenever the metrics are.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public Map<String, String> getHistograms() {
+        Map<String, String> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, summarize(histogram)));
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    @Override
+    public String dump(String path) throws IOException {
+        Path file = Paths.get(path).toAbsolutePath();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writeTo(writer);
+        }
+        return file.toString();
+    }
+
+    public void writeTo(Writer writer) throws IOException {
+        writer.write("# metrics at " + Instant.now() + "\n");
+        for (Map.Entry<String, Long> entry : getCounters().entrySet()) {
+            writer.write("counter " + entry.getKey() + " " + entry.getValue() + "\n");
+        }
+        for (Map.Entry<String, Long> entry : getGauges().entrySet()) {
+            writer.write("gauge " + entry.getKey() + " " + entry.getValue() + "\n");
+        }
+        for (Map.Entry<String, String> entry : getHistograms().entrySet()) {
+            writer.write("histogram " + entry.getKey() + " " + entry.getValue() + "\n");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeTo(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    private static String summarize(Histogram histogram) {
+        return String.format("count=%d mean=%.0f p50=%d p90=%d p99=%d max=%d", histogram.getCount(),
+            histogram.getMean(), histogram.getPercentile(50), histogram.getPercentile(90),
+            histogram.getPercentile(99), histogram.getMax());
+    }
+
+    private static MetricsRegistry createShared() {
+        MetricsRegistry registry = new MetricsRegistry();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(registry, name);
+            }
+        } catch (JMException | RuntimeException e) {
+            GameLog.warn("Could not register metrics MBean: %s", e.getMessage());
+        }
+        String dumpFile = System.getProperty("tradinggame.metrics.dump");
+        if (dumpFile != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    registry.dump(dumpFile);
+                } catch (IOException e) {
+                    System.err.println("Could not write metrics to " + dumpFile + ": " + e.getMessage());
+                }
+            }, "metrics-dump"));
+        }
+        return registry;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.tradinggame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event around GameState.nextDay: order matching, then loading the new day.
+ */
+@Name("com.tradinggame.NextDay")
+@Label("Next Day")
+@Category({"Trading Game", "Matching"})
+@Description("One game day: matching the resting orders of the day and advancing the clock")
+public class NextDayEvent extends Event {
+    @Label("Date")
+    public String date;
+
+    @Label("Resting Orders")
+    @Description("Open orders in the books of all symbols before matching")
+    public int restingOrders;
+
+    @Label("Matched Orders")
+    public int matchedOrders;
+
+    @Label("Fills")
+    public int fills;
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.tradinggame.state;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import com.tradinggame.dtos.GameEvent;
+import com.tradinggame.dtos.GameStateListener;
+import com.tradinggame.metrics.Histogram;
+import com.tradinggame.metrics.MetricsRegistry;
+
+/**
+ * Delivers game events to GameStateListeners. With a dispatcher (the UI passes
+ * SwingUtilities::invokeLater) events are collected and handed over at most once per
+ * frame, so a burst of changes, e.g. fast-forwarding many days, causes a single refresh
+ * with the union of its events. Without one every event is delivered right away on the
+ * posting thread. The time each listener spends per delivery is recorded in the
+ * listener.NAME.nanos histogram of the metrics registry.
+ */
+public class GameEventBus {
+    public static final long DEFAULT_FRAME_MILLIS = 16;
+
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+    private final Set<GameEvent> pending = EnumSet.noneOf(GameEvent.class);
+    private volatile Executor dispatcher;
+    private volatile long frameNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FRAME_MILLIS);
+    private boolean scheduled;
+    private long lastDispatch = System.nanoTime() - frameNanos;
+    private ScheduledThreadPoolExecutor timer;
+
+    public void addListener(GameStateListener listener) {
+        String name = "listener." + listener.getName() + ".nanos";
+        listeners.add(new Registration(listener, MetricsRegistry.shared().histogram(name)));
+    }
+
+    public void setDispatcher(Executor dispatcher) { this.dispatcher = dispatcher; }
+
+    public void setFrameMillis(long frameMillis) { this.frameNanos = TimeUnit.MILLISECONDS.toNanos(frameMillis); }
+
+    public void post(GameEvent event) {
+        Executor executor = dispatcher;
+        if (executor == null) {
+            deliver(Collections.unmodifiableSet(EnumSet.of(event)));
+            return;
+        }
+        long delay;
+        synchronized (this) {
+            pending.add(event);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+            delay = lastDispatch + frameNanos - System.nanoTime();
+        }
+        if (delay <= 0) {
+            executor.execute(this::flush);
+        } else {
+            getTimer().schedule(() -> executor.execute(this::flush), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Delivers the pending events now, on the calling thread.
+     */
+    public void flush() {
+        Set<GameEvent> events;
+        synchronized (this) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = Collections.unmodifiableSet(EnumSet.copyOf(pending));
+            pending.clear();
+            lastDispatch = System.nanoTime();
+        }
+        deliver(events);
+    }
+
+    private void deliver(Set<GameEvent> events) {
+        for (Registration registration : listeners) {
+            long start = System.nanoTime();
+            registration.listener.onGameStateChanged(events);
+            registration.refreshNanos.recordSince(start);
+        }
+    }
+
+    private synchronized ScheduledThreadPoolExecutor getTimer() {
+        if (timer == null) {
+            timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "game-event-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setKeepAliveTime(30, TimeUnit.SECONDS);
+            timer.allowCoreThreadTimeOut(true);
+        }
+        return timer;
+    }
+
+    private static class Registration {
+        final GameStateListener listener;
+        final Histogram refreshNanos;
+
+        Registration(GameStateListener listener, Histogram refreshNanos) {
+            this.listener = listener;
+            this.refreshNanos = refreshNanos;
+        }
+    }
+}
\ No newline at end of file
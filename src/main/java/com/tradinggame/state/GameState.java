@@ -1,17 +1,37 @@
 package com.tradinggame.state;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import com.tradinggame.dtos.Order;
 import com.tradinggame.dtos.OrderType;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
-import com.tradinggame.dtos.PriceData;
-import com.tradinggame.clients.BinanceApiClient;
+import com.tradinggame.dtos.LoadProgressListener;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.PriceSeries;
+import com.tradinggame.clients.MappedCandleStore;
+import com.tradinggame.clients.RequestScheduler;
+import com.tradinggame.metrics.Counter;
+import com.tradinggame.metrics.Histogram;
+import com.tradinggame.metrics.MetricsRegistry;
+import com.tradinggame.metrics.NextDayEvent;
+import com.tradinggame.utils.GameLog;
 
 public class GameState {
+    private static final Histogram NEXT_DAY_NANOS = MetricsRegistry.shared().histogram("game.nextDay.nanos");
+    private static final Histogram MATCHED_PER_DAY = MetricsRegistry.shared().histogram("game.ordersMatchedPerDay");
+    private static final Counter ORDERS_FILLED = MetricsRegistry.shared().counter("game.ordersFilled");
+
     private String playerName;
     private LocalDate startDate;
     private LocalDate endDate;
@@ -21,26 +41,26 @@ public class GameState {
     private boolean gameStarted;
     private boolean gameFinished;
     
-    private List<Order> openOrders;
-    private List<Order> executedOrders;
-    private List<PriceData> priceHistory;
-    private List<GameStateListener> listeners;
+    private final GameEventBus eventBus = new GameEventBus();
+    private List<LoadProgressListener> loadProgressListeners;
     
-    private BinanceApiClient apiClient;
     private int indicatorWarmupDays = 20; // For Bollinger Bands (max of RSI/Bollinger)
-    private List<PriceData> allPriceHistory;
+    private int loaderConcurrency = 4; // Max parallel range fetches during warm-up
+    private boolean useMappedHistory = false; // Serve histories from memory-mapped cache files
+    private Map<String, CandleSeries> sharedHistories = Collections.emptyMap(); // Preloaded read-only histories
+    private boolean logTrades = true;
+    private int prefetchDays = 7; // Days loaded ahead of the game clock for lazily loaded symbols
+    private boolean incrementalLoading = false; // Load day by day as the game advances instead of up-front
+    private Executor updateExecutor; // Where background loads apply their candles; null loads synchronously
+    private ExecutorService symbolLoader;
+    private volatile int loadGeneration; // Bumped by startGame so stale background loads are dropped
     private Map<String, SymbolState> symbolStates = new HashMap<>();
     private String currentSymbol = "BTCUSDC";
     private double usdcBalance;
     private Map<String, Double> cryptoBalances = new ConcurrentHashMap<>(); // e.g. BTC, ETH, BNB
 
     public GameState() {
-        this.openOrders = new CopyOnWriteArrayList<>();
-        this.executedOrders = new CopyOnWriteArrayList<>();
-        this.priceHistory = new CopyOnWriteArrayList<>();
-        this.allPriceHistory = new CopyOnWriteArrayList<>();
-        this.listeners = new CopyOnWriteArrayList<>();
-        this.apiClient = new BinanceApiClient();
+        this.loadProgressListeners = new CopyOnWriteArrayList<>();
         // Initialize with default symbol
         symbolStates.put(currentSymbol, new SymbolState(currentSymbol, 0.001)); // Default values, will be set in startGame
     }
@@ -56,29 +76,83 @@ public class GameState {
         this.gameFinished = false;
         this.usdcBalance = initialBalance;
         this.cryptoBalances.clear();
+        this.loadGeneration++;
         // Clear all symbol states and reinitialize (but no per-symbol balances)
         for (SymbolState state : symbolStates.values()) {
             state.setTradingFee(tradingFee);
-            state.getOpenOrders().clear();
-            state.getExecutedOrders().clear();
-            state.getPriceHistory().clear();
-            state.getAllPriceHistory().clear();
+            state.clearOrders();
+            state.clearPriceHistory();
         }
         // Load warm-up prices for indicators for all symbols
         LocalDate warmupStart = startDate.minusDays(indicatorWarmupDays);
+        List<SymbolState> toLoad = new ArrayList<>();
         for (SymbolState state : symbolStates.values()) {
-            loadPricesForRange(state, warmupStart, endDate);
+            CandleSeries shared = sharedHistories.get(state.getSymbol());
+            if (shared != null) {
+                state.attachHistory(shared.view(shared.indexOf(warmupStart), shared.indexOf(endDate.plusDays(1))), startDate);
+            } else {
+                toLoad.add(state);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            // Fetch the symbol on screen first
+            RequestScheduler.shared().setPrioritySymbol(currentSymbol);
         }
-        notifyListeners();
+        // Incremental games start with the prefetch window only; nextDay loads the rest
+        LocalDate loadEnd = incrementalLoading ? earlier(startDate.plusDays(prefetchDays), endDate) : endDate;
+        PriceLoader loader = new PriceLoader(loaderConcurrency);
+        if (useMappedHistory) {
+            loader.loadAll(toLoad, warmupStart, endDate, this::cachePricesForRange, this::notifyLoadProgress);
+            for (SymbolState state : toLoad) {
+                try {
+                    state.attachHistory(MappedCandleStore.open(state.getSymbol(), warmupStart, endDate), startDate);
+                } catch (IOException e) {
+                    GameLog.warn("Error mapping cached prices for %s: %s", state.getSymbol(), e.getMessage());
+                    loadPricesForRange(state, warmupStart, endDate);
+                }
+            }
+        } else {
+            Map<SymbolState, PriceSeries> loaded = loader.loadAll(toLoad, warmupStart, loadEnd,
+                this::fetchPricesForRange, this::notifyLoadProgress);
+            for (Map.Entry<SymbolState, PriceSeries> entry : loaded.entrySet()) {
+                entry.getKey().appendPrices(entry.getValue(), startDate);
+            }
+        }
+        for (SymbolState state : toLoad) {
+            state.setLoadedThrough(useMappedHistory ? endDate : loadEnd);
+        }
+        registerHeapCandlesGauge();
+        eventBus.post(GameEvent.GAME_STARTED);
     }
 
     public void nextDay() {
         if (!gameStarted || gameFinished) {
             return;
         }
+        // Never match a day whose candles have not arrived yet; a background load that
+        // fell behind the clock holds the game until it catches up
+        boolean behind = false;
+        for (SymbolState state : symbolStates.values()) {
+            if (isBehindClock(state)) {
+                prefetch(state);
+                behind |= isBehindClock(state);
+            }
+        }
+        if (behind) {
+            return;
+        }
+        long start = System.nanoTime();
+        NextDayEvent event = new NextDayEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.date = currentDate.toString();
+            for (SymbolState state : symbolStates.values()) {
+                event.restingOrders += state.getOrderBook().size();
+            }
+        }
 
         // Execute any orders that match current prices
-        executeMatchingOrders();
+        executeMatchingOrders(event);
         
         // Move to next day
         currentDate = currentDate.plusDays(1);
@@ -91,64 +165,115 @@ public class GameState {
             loadPricesForCurrentDate();
         }
         
-        notifyListeners();
+        eventBus.post(GameEvent.DAY_ADVANCED);
+        NEXT_DAY_NANOS.recordSince(start);
+        event.commit();
+    }
+
+    /**
+     * False while a background load still has to deliver the candles of the current date;
+     * nextDay does nothing until it has caught up. A failed load does not block, since
+     * nextDay starts it again.
+     */
+    public boolean isReadyForNextDay() {
+        for (SymbolState state : symbolStates.values()) {
+            if (state.isLoading() && isBehindClock(state)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBehindClock(SymbolState state) {
+        if (state.hasAttachedHistory()) {
+            return false;
+        }
+        LocalDate loadedThrough = state.getLoadedThrough();
+        if (loadedThrough == null) {
+            // A symbol switched to mid-game has nothing until its first part arrives
+            return state.isLoading();
+        }
+        return loadedThrough.isBefore(currentDate);
     }
 
     private void loadPricesForCurrentDate() {
+        if (updateExecutor != null || incrementalLoading) {
+            for (SymbolState state : symbolStates.values()) {
+                prefetch(state);
+            }
+            return;
+        }
+        SymbolState state = getCurrentSymbolState();
+        if (state.hasAttachedHistory()) {
+            // The mapped history already covers the whole game window
+            return;
+        }
+        CandleSeries history = state.getPriceHistory();
+        if (history.indexOf(currentDate) < history.size()) {
+            // Already loaded with the game range; appending again would duplicate the day
+            return;
+        }
         try {
-            SymbolState state = getCurrentSymbolState();
-            List<PriceData> newPrices = state.getApiClient().getHistoricalPrices(currentDate);
-            state.getPriceHistory().addAll(newPrices);
+            state.appendVisiblePrices(state.getApiClient().getHistoricalSeries(currentDate));
         } catch (Exception e) {
-            System.err.println("Error loading prices for " + currentDate + ": " + e.getMessage());
+            GameLog.warn("Error loading prices for %s: %s", currentDate, e.getMessage());
             addMockPricesForDate(currentDate);
         }
     }
 
     private void addMockPricesForDate(LocalDate date) {
-        SymbolState state = getCurrentSymbolState();
+        getCurrentSymbolState().appendPrices(createMockPrices(date), startDate);
+    }
+
+    private PriceSeries createMockPrices(LocalDate date) {
+        PriceSeries prices = new PriceSeries(6);
         double basePrice = 45000 + Math.random() * 10000; // Random price between 45k-55k
         for (int hour = 0; hour < 24; hour += 4) {
             LocalDateTime timestamp = date.atTime(hour, 0);
             double price = basePrice + (Math.random() - 0.5) * 2000; // ±1000 variation
             double volume = 1000 + Math.random() * 5000; // Mock volume
-            PriceData priceData = new PriceData(timestamp, price, price, price, price, volume);
-            state.getAllPriceHistory().add(priceData);
-            if (!date.isBefore(startDate)) {
-                state.getPriceHistory().add(priceData);
-            }
+            prices.append(CandleSeries.toEpochMillis(timestamp), price, price, price, price, volume);
         }
+        return prices;
     }
 
-    private void executeMatchingOrders() {
-        for (String symbol : symbolStates.keySet()) {
-            SymbolState state = symbolStates.get(symbol);
-            List<Order> ordersToExecute = new ArrayList<>();
-            for (Order order : new ArrayList<>(state.getOpenOrders())) {
-                for (PriceData price : getPricesForDate(state, currentDate)) {
-                    System.out.printf("[DEBUG] Checking order %s %s @ %.2f for %s on %s (market price: %.2f)\n",
-                        order.getType(), symbol, order.getPrice(), order.getOrderDate(), currentDate, price.getPrice());
-                    if (order.getOrderDate().equals(currentDate) && isOrderExecutable(order, price)) {
-                        ordersToExecute.add(order);
-                        break;
-                    }
-                }
+    private void executeMatchingOrders(NextDayEvent event) {
+        boolean executed = false;
+        int matched = 0;
+        for (SymbolState state : symbolStates.values()) {
+            CandleSeries dayPrices = getPricesForDate(state, currentDate);
+            if (dayPrices.isEmpty()) {
+                continue;
             }
-            for (Order order : ordersToExecute) {
-                executeOrder(order, state);
+            // An order fills when any close of its order day reaches its limit, i.e. BUYs
+            // at or above the lowest close and SELLs at or below the highest one
+            double low = Double.POSITIVE_INFINITY;
+            double high = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < dayPrices.size(); i++) {
+                low = Math.min(low, dayPrices.getClose(i));
+                high = Math.max(high, dayPrices.getClose(i));
             }
+            List<Order> filled = new ArrayList<>();
+            // Orders that cannot be filled for lack of balance stay open and cancellable
+            for (Order order : state.getOrderBook().crossing(currentDate, low, high)) {
+                matched++;
+                if (executeOrder(order, state)) {
+                    filled.add(order);
+                }
+            }
+            state.markExecuted(filled);
+            ORDERS_FILLED.add(filled.size());
+            event.fills += filled.size();
+            executed |= !filled.isEmpty();
         }
-    }
-
-    private boolean isOrderExecutable(Order order, PriceData price) {
-        if (order.getType() == OrderType.BUY) {
-            return price.getPrice() <= order.getPrice();
-        } else {
-            return price.getPrice() >= order.getPrice();
+        MATCHED_PER_DAY.record(matched);
+        event.matchedOrders = matched;
+        if (executed) {
+            eventBus.post(GameEvent.ORDERS_EXECUTED);
         }
     }
 
-    private void executeOrder(Order order, SymbolState state) {
+    private boolean executeOrder(Order order, SymbolState state) {
         double executionPrice = order.getPrice();
         double orderAmount = order.getAmount();
         String symbol = state.getSymbol();
@@ -163,10 +288,12 @@ public class GameState {
                 order.setExecuted(true);
                 order.setExecutionDate(currentDate);
                 order.setExecutionPrice(executionPrice);
-                System.out.printf("[DEBUG] BUY EXECUTED: %s %.4f @ %.2f | Fee: %.2f | USDC left: %.2f | %s balance: %.4f\n",
-                    crypto, orderAmount, executionPrice, feeAmount, usdcBalance, crypto, cryptoBalances.get(crypto));
-            } else {
-                System.out.printf("[DEBUG] BUY FAILED (insufficient USDC): %s %.4f @ %.2f | Needed: %.2f, Available: %.2f\n",
+                if (logTrades()) {
+                    GameLog.debug("BUY EXECUTED: %s %.4f @ %.2f | Fee: %.2f | USDC left: %.2f | %s balance: %.4f",
+                        crypto, orderAmount, executionPrice, feeAmount, usdcBalance, crypto, cryptoBalances.get(crypto));
+                }
+            } else if (logTrades()) {
+                GameLog.debug("BUY FAILED (insufficient USDC): %s %.4f @ %.2f | Needed: %.2f, Available: %.2f",
                     crypto, orderAmount, executionPrice, totalCost, usdcBalance);
             }
         } else {
@@ -180,17 +307,21 @@ public class GameState {
                 order.setExecuted(true);
                 order.setExecutionDate(currentDate);
                 order.setExecutionPrice(executionPrice);
-                System.out.printf("[DEBUG] SELL EXECUTED: %s %.4f @ %.2f | Fee: %.2f | USDC now: %.2f | %s balance: %.4f\n",
-                    crypto, orderAmount, executionPrice, feeAmount, usdcBalance, crypto, cryptoBalances.get(crypto));
-            } else {
-                System.out.printf("[DEBUG] SELL FAILED (insufficient %s): %.4f @ %.2f | Needed: %.4f, Available: %.4f\n",
+                if (logTrades()) {
+                    GameLog.debug("SELL EXECUTED: %s %.4f @ %.2f | Fee: %.2f | USDC now: %.2f | %s balance: %.4f",
+                        crypto, orderAmount, executionPrice, feeAmount, usdcBalance, crypto, cryptoBalances.get(crypto));
+                }
+            } else if (logTrades()) {
+                GameLog.debug("SELL FAILED (insufficient %s): %.4f @ %.2f | Needed: %.4f, Available: %.4f",
                     crypto, orderAmount, executionPrice, orderAmount, cryptoBal);
             }
         }
-        if (order.isExecuted()) {
-            state.getOpenOrders().remove(order);
-            state.getExecutedOrders().add(order);
-        }
+        return order.isExecuted();
+    }
+
+    // Checked before building the arguments, so disabled trade logs cost nothing
+    private boolean logTrades() {
+        return logTrades && GameLog.isEnabled(GameLog.Level.DEBUG);
     }
 
     public void placeOrder(OrderType type, double price, double amount, LocalDate orderDate) {
@@ -210,28 +341,35 @@ public class GameState {
             symbolStates.put(symbol, state);
         }
         Order order = new Order(type, price, amount, orderDate);
-        state.getOpenOrders().add(order);
-        notifyListeners();
+        state.addOpenOrder(order);
+        eventBus.post(GameEvent.ORDER_PLACED);
     }
 
     public void cancelOrder(Order order) {
         if (!gameStarted || gameFinished) {
             return;
         }
-        SymbolState state = symbolStates.get(currentSymbol);
-        if (state != null && state.getOpenOrders().contains(order)) {
-            state.getOpenOrders().remove(order);
-            notifyListeners();
+        for (SymbolState state : symbolStates.values()) {
+            if (state.cancelOpenOrder(order)) {
+                eventBus.post(GameEvent.ORDER_CANCELLED);
+                return;
+            }
         }
     }
 
     public void addGameStateListener(GameStateListener listener) {
-        listeners.add(listener);
+        eventBus.addListener(listener);
     }
 
-    private void notifyListeners() {
-        for (GameStateListener listener : listeners) {
-            listener.onGameStateChanged();
+    public GameEventBus getEventBus() { return eventBus; }
+
+    public void addLoadProgressListener(LoadProgressListener listener) {
+        loadProgressListeners.add(listener);
+    }
+
+    private void notifyLoadProgress(int completedChunks, int totalChunks) {
+        for (LoadProgressListener listener : loadProgressListeners) {
+            listener.onLoadProgress(completedChunks, totalChunks);
         }
     }
 
@@ -254,58 +392,57 @@ public class GameState {
         if (state != null) return new ArrayList<>(state.getExecutedOrders());
         return new ArrayList<>();
     }
-    public List<PriceData> getPriceHistory() { return new ArrayList<>(priceHistory); }
+    public CandleSeries getPriceHistory() { return getCurrentSymbolState().getPriceHistory(); }
 
-    public List<PriceData> getPricesForDate(SymbolState state, LocalDate date) {
-        List<PriceData> result = new ArrayList<>();
-        for (PriceData price : state.getPriceHistory()) {
-            if (price.getTimestamp().toLocalDate().equals(date)) {
-                result.add(price);
-            }
-        }
-        return result;
+    public CandleSeries getPricesForDate(SymbolState state, LocalDate date) {
+        return state.getPriceHistory().getDay(date);
     }
 
     private void loadPricesForRange(SymbolState state, LocalDate from, LocalDate to) {
-        System.out.println("Loading prices for symbol " + state.getSymbol() + " from " + from + " to " + to);
+        state.appendPrices(fetchPricesForRange(state, from, to), startDate);
+    }
+
+    private PriceSeries cachePricesForRange(SymbolState state, LocalDate from, LocalDate to) {
+        try {
+            state.getApiClient().cacheRange(from, to);
+        } catch (IOException e) {
+            GameLog.warn("Error caching prices for range %s to %s: %s", from, to, e.getMessage());
+        }
+        return new PriceSeries(1);
+    }
+
+    private PriceSeries fetchPricesForRange(SymbolState state, LocalDate from, LocalDate to) {
+        GameLog.info("Loading prices for symbol %s from %s to %s", state.getSymbol(), from, to);
+        try {
+            PriceSeries newPrices = state.getApiClient().getHistoricalSeries(from, to);
+            GameLog.info("Loaded %d price points for %s", newPrices.size(), state.getSymbol());
+            return newPrices;
+        } catch (Exception e) {
+            GameLog.warn("Error loading prices for range %s to %s: %s, falling back to per-day loading",
+                from, to, e.getMessage());
+        }
+        PriceSeries prices = new PriceSeries();
         LocalDate date = from;
         int dayCount = 0;
         while (!date.isAfter(to)) {
             try {
-                System.out.println("Loading prices for date: " + date + " (day " + (++dayCount) + ")");
-                List<PriceData> newPrices = state.getApiClient().getHistoricalPrices(date);
-                System.out.println("Loaded " + newPrices.size() + " price points for " + date);
-                state.getAllPriceHistory().addAll(newPrices);
-                if (!date.isBefore(startDate)) {
-                    state.getPriceHistory().addAll(newPrices);
-                }
+                GameLog.debug("Loading prices for date: %s (day %d)", date, ++dayCount);
+                PriceSeries newPrices = state.getApiClient().getHistoricalSeries(date);
+                GameLog.debug("Loaded %d price points for %s", newPrices.size(), date);
+                prices.mergeAll(newPrices);
             } catch (Exception e) {
-                System.err.println("Error loading prices for " + date + ": " + e.getMessage());
+                GameLog.warn("Error loading prices for %s: %s", date, e.getMessage());
                 // Add mock data for this symbol
-                double basePrice = 45000 + Math.random() * 10000;
-                for (int hour = 0; hour < 24; hour += 4) {
-                    LocalDateTime timestamp = date.atTime(hour, 0);
-                    double price = basePrice + (Math.random() - 0.5) * 2000;
-                    double volume = 1000 + Math.random() * 5000;
-                    PriceData priceData = new PriceData(timestamp, price, price, price, price, volume);
-                    state.getAllPriceHistory().add(priceData);
-                    if (!date.isBefore(startDate)) {
-                        state.getPriceHistory().add(priceData);
-                    }
-                }
+                prices.mergeAll(createMockPrices(date));
             }
             date = date.plusDays(1);
         }
-        System.out.println("Finished loading prices for symbol " + state.getSymbol() + ". Total days processed: " + dayCount);
+        GameLog.info("Finished loading prices for symbol %s. Total days processed: %d", state.getSymbol(), dayCount);
+        return prices;
     }
 
     // For indicator calculations, use allPriceHistory
-    public List<PriceData> getAllPriceHistory() {
-        if (allPriceHistory == null) {
-            return new ArrayList<>();
-        }
-        return new ArrayList<>(allPriceHistory);
-    }
+    public CandleSeries getAllPriceHistory() { return getCurrentSymbolState().getAllPriceHistory(); }
 
     public void setCurrentSymbol(String symbol) {
         if (!symbolStates.containsKey(symbol)) {
@@ -313,21 +450,201 @@ public class GameState {
             symbolStates.put(symbol, new SymbolState(symbol, 0.001));
         }
         this.currentSymbol = symbol;
+        RequestScheduler.shared().setPrioritySymbol(symbol);
         SymbolState state = symbolStates.get(symbol);
         // If price history is empty or missing for the current range, load it
-        if (state.getPriceHistory().isEmpty() || state.getAllPriceHistory().isEmpty()) {
+        if (!state.hasAttachedHistory() && !state.isLoading()
+                && (state.getPriceHistory().isEmpty() || state.getAllPriceHistory().isEmpty())) {
             LocalDate warmupStart = startDate != null ? startDate.minusDays(indicatorWarmupDays) : LocalDate.now().minusDays(indicatorWarmupDays);
             LocalDate end = endDate != null ? endDate : LocalDate.now();
-            loadPricesForRange(state, warmupStart, end);
+            if (updateExecutor != null) {
+                LocalDate shownThrough = currentDate != null && currentDate.isBefore(end) ? currentDate : end;
+                LocalDate prefetchEnd = earlier(shownThrough.plusDays(prefetchDays), end);
+                loadInBackground(state, warmupStart, shownThrough, prefetchEnd);
+            } else {
+                LocalDate loadEnd = incrementalLoading && currentDate != null ? earlier(currentDate.plusDays(prefetchDays), end) : end;
+                loadPricesForRange(state, warmupStart, loadEnd);
+                state.setLoadedThrough(loadEnd);
+            }
+        }
+        eventBus.post(GameEvent.SYMBOL_CHANGED);
+    }
+
+    /**
+     * Extends a lazily or incrementally loaded history to prefetchDays ahead of the game
+     * clock, in the background when there is an update executor.
+     */
+    private void prefetch(SymbolState state) {
+        if (state.hasAttachedHistory() || state.isLoading() || state.getLoadedThrough() == null) {
+            return;
         }
-        notifyListeners();
+        LocalDate target = earlier(currentDate.plusDays(prefetchDays), endDate);
+        if (state.getLoadedThrough().isBefore(target)) {
+            LocalDate from = state.getLoadedThrough().plusDays(1);
+            if (updateExecutor != null) {
+                loadInBackground(state, from, target, target);
+            } else {
+                loadPricesForRange(state, from, target);
+                state.setLoadedThrough(target);
+            }
+        }
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // Reports the heap candles of the most recently started game without keeping it alive
+    private void registerHeapCandlesGauge() {
+        WeakReference<GameState> game = new WeakReference<>(this);
+        MetricsRegistry.shared().gauge("game.heapCandles", () -> {
+            GameState state = game.get();
+            return state != null ? state.countHeapCandles() : 0;
+        });
     }
+
+    // Read from the JMX thread, so a symbol added meanwhile just skips this reading
+    private long countHeapCandles() {
+        long candles = 0;
+        try {
+            for (SymbolState state : symbolStates.values()) {
+                if (!state.hasAttachedHistory()) {
+                    candles += state.getAllPriceHistory().size() + state.getPriceHistory().size();
+                }
+            }
+        } catch (ConcurrentModificationException e) {
+            return 0;
+        }
+        return candles;
+    }
+
+    /**
+     * Loads [from, shownThrough] and then (shownThrough, to] on the symbol loader thread, so
+     * the chart can render before the prefetched days arrive. Each part is appended on the
+     * update executor, in order, unless a new game has started in the meantime.
+     */
+    private void loadInBackground(SymbolState state, LocalDate from, LocalDate shownThrough, LocalDate to) {
+        state.setLoading(true);
+        int generation = loadGeneration;
+        LocalDate visibleFrom = startDate != null ? startDate : from;
+        getSymbolLoader().execute(() -> {
+            List<LocalDate[]> parts = new ArrayList<>();
+            parts.add(new LocalDate[] {from, shownThrough.isBefore(to) ? shownThrough : to});
+            if (shownThrough.isBefore(to)) {
+                parts.add(new LocalDate[] {shownThrough.plusDays(1), to});
+            }
+            try {
+                for (int i = 0; i < parts.size(); i++) {
+                    LocalDate[] part = parts.get(i);
+                    PriceSeries prices = fetchPricesForRange(state, part[0], part[1]);
+                    boolean last = i == parts.size() - 1;
+                    updateExecutor.execute(() -> {
+                        if (generation != loadGeneration) {
+                            return;
+                        }
+                        state.appendPrices(prices, visibleFrom);
+                        state.setLoadedThrough(part[1]);
+                        if (last) {
+                            state.setLoading(false);
+                        }
+                        eventBus.post(GameEvent.PRICES_LOADED);
+                    });
+                }
+            } catch (RuntimeException e) {
+                GameLog.error("Error loading prices for %s: %s", state.getSymbol(), e.getMessage());
+                updateExecutor.execute(() -> {
+                    if (generation == loadGeneration) {
+                        state.setLoading(false);
+                        eventBus.post(GameEvent.PRICES_LOADED);
+                    }
+                });
+            }
+        });
+    }
+
+    private synchronized ExecutorService getSymbolLoader() {
+        if (symbolLoader == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "symbol-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            symbolLoader = executor;
+        }
+        return symbolLoader;
+    }
+    /**
+     * Replaces the traded symbols before a game is started; the first one becomes the
+     * current symbol. States of symbols that stay are kept.
+     */
+    public void setSymbols(Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        Map<String, SymbolState> states = new HashMap<>();
+        for (String symbol : symbols) {
+            SymbolState state = symbolStates.get(symbol);
+            states.put(symbol, state != null ? state : new SymbolState(symbol, tradingFee));
+        }
+        symbolStates = states;
+        currentSymbol = symbols.iterator().next();
+    }
+
+    /**
+     * USDC balance plus every crypto balance valued at the latest visible close of its symbol.
+     */
+    public double getPortfolioValue() {
+        double value = usdcBalance;
+        for (Map.Entry<String, Double> entry : cryptoBalances.entrySet()) {
+            SymbolState state = symbolStates.get(entry.getKey() + "USDC");
+            double price = (state != null) ? state.getCurrentBtcPrice() : 0.0;
+            value += entry.getValue() * price;
+        }
+        return value;
+    }
+
     public String getCurrentSymbol() { return currentSymbol; }
     public SymbolState getCurrentSymbolState() { return symbolStates.get(currentSymbol); }
     public Set<String> getAvailableSymbols() { return symbolStates.keySet(); }
     public Map<String, SymbolState> getSymbolStates() {
         return symbolStates;
     }
+    public void setLoaderConcurrency(int loaderConcurrency) { this.loaderConcurrency = loaderConcurrency; }
+    public void setUseMappedHistory(boolean useMappedHistory) { this.useMappedHistory = useMappedHistory; }
+    public int getIndicatorWarmupDays() { return indicatorWarmupDays; }
+    public void setLogTrades(boolean logTrades) { this.logTrades = logTrades; }
+    public void setPrefetchDays(int prefetchDays) { this.prefetchDays = prefetchDays; }
+
+    /**
+     * Loads heap histories incrementally: startGame loads the warm-up and the first
+     * prefetchDays days, and every nextDay tops the window up again, so memory and start-up
+     * time grow with the days played rather than the game length. Mapped and shared
+     * histories always cover the whole game.
+     */
+    public void setIncrementalLoading(boolean incrementalLoading) { this.incrementalLoading = incrementalLoading; }
+
+    /**
+     * Makes symbol loading lazy and asynchronous: histories of symbols switched to are
+     * loaded in the background up to the game clock plus prefetchDays, and extended as the
+     * game advances. Loaded candles are applied through the given executor (the UI passes
+     * SwingUtilities::invokeLater), so histories are only ever changed on that thread.
+     * Listener notifications are coalesced and delivered through the same executor.
+     */
+    public void setUpdateExecutor(Executor updateExecutor) {
+        this.updateExecutor = updateExecutor;
+        eventBus.setDispatcher(updateExecutor);
+    }
+
+    /**
+     * Read-only candle histories, by symbol, that startGame uses instead of loading prices.
+     * They must cover the game range plus the indicator warm-up; games only take views of
+     * them, so one set of histories can back many games at once.
+     */
+    public void setSharedHistories(Map<String, ? extends CandleSeries> sharedHistories) {
+        this.sharedHistories = new HashMap<>(sharedHistories);
+    }
     // Getters for balances
     public double getUsdcBalance() { return usdcBalance; }
     public double getCryptoBalance(String crypto) { return cryptoBalances.getOrDefault(crypto, 0.0); }
@@ -0,0 +1,114 @@
+package com.tradinggame.state;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import com.tradinggame.dtos.Order;
+import com.tradinggame.dtos.OrderType;
+
+/**
+ * Resting limit orders of one symbol, bucketed by order date. Within a day BUY limits are
+ * sorted highest first and SELL limits lowest first, so matching only walks the orders
+ * that the day's prices cross; the rest of the book is never looked at.
+ */
+public class OrderBook {
+    private static final Comparator<Entry> BUY_PRIORITY = Comparator
+        .comparingDouble((Entry e) -> -e.order.getPrice())
+        .thenComparingLong(e -> e.sequence);
+    private static final Comparator<Entry> SELL_PRIORITY = Comparator
+        .comparingDouble((Entry e) -> e.order.getPrice())
+        .thenComparingLong(e -> e.sequence);
+
+    private final Map<LocalDate, DayBook> days = new HashMap<>();
+    private final Map<Order, Entry> entries = new IdentityHashMap<>();
+    private long nextSequence;
+
+    public void add(Order order) {
+        Entry entry = new Entry(order, nextSequence++);
+        entries.put(order, entry);
+        days.computeIfAbsent(order.getOrderDate(), d -> new DayBook()).side(order.getType()).add(entry);
+    }
+
+    public boolean remove(Order order) {
+        Entry entry = entries.remove(order);
+        if (entry == null) {
+            return false;
+        }
+        DayBook day = days.get(order.getOrderDate());
+        day.side(order.getType()).remove(entry);
+        if (day.isEmpty()) {
+            days.remove(order.getOrderDate());
+        }
+        return true;
+    }
+
+    /**
+     * Returns the orders placed for the given day that trading between low and high
+     * crosses: BUYs limited at or above low and SELLs limited at or below high. The orders
+     * come back in placement order and stay in the book until they are removed, so one
+     * that cannot be filled remains open.
+     */
+    public List<Order> crossing(LocalDate date, double low, double high) {
+        DayBook day = days.get(date);
+        if (day == null) {
+            return new ArrayList<>();
+        }
+        List<Entry> crossed = new ArrayList<>();
+        for (Entry entry : day.buys) {
+            if (entry.order.getPrice() < low) {
+                break;
+            }
+            crossed.add(entry);
+        }
+        for (Entry entry : day.sells) {
+            if (entry.order.getPrice() > high) {
+                break;
+            }
+            crossed.add(entry);
+        }
+        crossed.sort(Comparator.comparingLong(e -> e.sequence));
+        List<Order> orders = new ArrayList<>(crossed.size());
+        for (Entry entry : crossed) {
+            orders.add(entry.order);
+        }
+        return orders;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        days.clear();
+        entries.clear();
+    }
+
+    private static class Entry {
+        final Order order;
+        final long sequence;
+
+        Entry(Order order, long sequence) {
+            this.order = order;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class DayBook {
+        final NavigableSet<Entry> buys = new TreeSet<>(BUY_PRIORITY);
+        final NavigableSet<Entry> sells = new TreeSet<>(SELL_PRIORITY);
+
+        NavigableSet<Entry> side(OrderType type) {
+            return type == OrderType.BUY ? buys : sells;
+        }
+
+        boolean isEmpty() {
+            return buys.isEmpty() && sells.isEmpty();
+        }
+    }
+}
\ No newline at end of file
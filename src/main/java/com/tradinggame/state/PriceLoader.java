@@ -0,0 +1,109 @@
+package com.tradinggame.state;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.tradinggame.dtos.LoadProgressListener;
+import com.tradinggame.dtos.PriceSeries;
+
+/**
+ * Loads price ranges for several symbols at once. Every symbol range is split into
+ * day-chunks that are fetched on a bounded thread pool, then stitched back together
+ * in timestamp order per symbol.
+ */
+public class PriceLoader {
+    // One /klines page holds 1000 4h candles, i.e. ~166 days
+    private static final int CHUNK_DAYS = 166;
+
+    public interface ChunkFetcher {
+        PriceSeries fetch(SymbolState state, LocalDate from, LocalDate to);
+    }
+
+    private final int maxConcurrency;
+
+    public PriceLoader(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public Map<SymbolState, PriceSeries> loadAll(Collection<SymbolState> states, LocalDate from, LocalDate to,
+                                                 ChunkFetcher fetcher, LoadProgressListener progressListener) {
+        Map<SymbolState, List<LocalDate[]>> chunksBySymbol = new LinkedHashMap<>();
+        int totalChunks = 0;
+        for (SymbolState state : states) {
+            List<LocalDate[]> chunks = splitIntoChunks(from, to);
+            chunksBySymbol.put(state, chunks);
+            totalChunks += chunks.size();
+        }
+        Map<SymbolState, PriceSeries> result = new LinkedHashMap<>();
+        if (totalChunks == 0) {
+            return result;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, totalChunks), runnable -> {
+            Thread thread = new Thread(runnable, "price-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            AtomicInteger completed = new AtomicInteger();
+            int total = totalChunks;
+            Map<SymbolState, List<Future<PriceSeries>>> futuresBySymbol = new LinkedHashMap<>();
+            for (Map.Entry<SymbolState, List<LocalDate[]>> entry : chunksBySymbol.entrySet()) {
+                SymbolState state = entry.getKey();
+                List<Future<PriceSeries>> futures = new ArrayList<>();
+                for (LocalDate[] chunk : entry.getValue()) {
+                    futures.add(executor.submit(() -> {
+                        PriceSeries prices = fetcher.fetch(state, chunk[0], chunk[1]);
+                        if (progressListener != null) {
+                            progressListener.onLoadProgress(completed.incrementAndGet(), total);
+                        }
+                        return prices;
+                    }));
+                }
+                futuresBySymbol.put(state, futures);
+            }
+            for (Map.Entry<SymbolState, List<Future<PriceSeries>>> entry : futuresBySymbol.entrySet()) {
+                // Chunks are consecutive and each one is time-ordered, so merging them in
+                // submission order appends in bulk and only drops candles shared at the edges
+                PriceSeries merged = new PriceSeries();
+                for (Future<PriceSeries> future : entry.getValue()) {
+                    merged.mergeAll(future.get());
+                }
+                result.put(entry.getKey(), merged);
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading prices", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load prices", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<LocalDate[]> splitIntoChunks(LocalDate from, LocalDate to) {
+        List<LocalDate[]> chunks = new ArrayList<>();
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate chunkEnd = chunkStart.plusDays(CHUNK_DAYS - 1);
+            if (chunkEnd.isAfter(to)) {
+                chunkEnd = to;
+            }
+            chunks.add(new LocalDate[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return chunks;
+    }
+}
\ No newline at end of file
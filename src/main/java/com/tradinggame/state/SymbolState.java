@@ -1,43 +1,157 @@
 package com.tradinggame.state;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import com.tradinggame.dtos.CandleSeries;
 import com.tradinggame.dtos.Order;
-import com.tradinggame.dtos.PriceData;
+import com.tradinggame.dtos.PriceSeries;
 import com.tradinggame.clients.BinanceApiClient;
+import com.tradinggame.indicators.IndicatorEngine;
 
 public class SymbolState {
     private final String symbol;
     private double tradingFee;
-    private List<Order> openOrders;
+    private Set<Order> openOrders; // Placement order; Order has identity equality
     private List<Order> executedOrders;
-    private List<PriceData> priceHistory;
-    private List<PriceData> allPriceHistory;
+    private final OrderBook orderBook;
+    private PriceSeries priceHistory;
+    private PriceSeries allPriceHistory;
     private BinanceApiClient apiClient;
+    private CandleSeries attachedHistory;
+    private CandleSeries attachedPriceHistory;
+    private final IndicatorEngine indicators = new IndicatorEngine();
+    private LocalDate loadedThrough;
+    private boolean loading;
 
     public SymbolState(String symbol, double tradingFee) {
         this.symbol = symbol;
         this.tradingFee = tradingFee;
-        this.openOrders = new ArrayList<>();
+        this.openOrders = new LinkedHashSet<>();
         this.executedOrders = new ArrayList<>();
-        this.priceHistory = new ArrayList<>();
-        this.allPriceHistory = new ArrayList<>();
-        this.apiClient = new BinanceApiClient(symbol);
+        this.orderBook = new OrderBook();
+        this.priceHistory = new PriceSeries();
+        this.allPriceHistory = new PriceSeries();
     }
 
     public String getSymbol() { return symbol; }
     public double getTradingFee() { return tradingFee; }
-    public List<Order> getOpenOrders() { return openOrders; }
-    public List<Order> getExecutedOrders() { return executedOrders; }
-    public List<PriceData> getPriceHistory() { return priceHistory; }
-    public List<PriceData> getAllPriceHistory() { return allPriceHistory; }
-    public BinanceApiClient getApiClient() { return apiClient; }
+    public Collection<Order> getOpenOrders() { return Collections.unmodifiableSet(openOrders); }
+    public List<Order> getExecutedOrders() { return Collections.unmodifiableList(executedOrders); }
+    public OrderBook getOrderBook() { return orderBook; }
+    public CandleSeries getPriceHistory() { return attachedHistory != null ? attachedPriceHistory : priceHistory; }
+    public CandleSeries getAllPriceHistory() { return attachedHistory != null ? attachedHistory : allPriceHistory; }
+    public boolean hasAttachedHistory() { return attachedHistory != null; }
+    // Last day whose candles are in the heap history, null if nothing is loaded yet
+    public LocalDate getLoadedThrough() { return loadedThrough; }
+    public void setLoadedThrough(LocalDate loadedThrough) { this.loadedThrough = loadedThrough; }
+    public boolean isLoading() { return loading; }
+    public void setLoading(boolean loading) { this.loading = loading; }
+
+    // Created on first use; games on shared or mapped histories never need one
+    public synchronized BinanceApiClient getApiClient() {
+        if (apiClient == null) {
+            apiClient = new BinanceApiClient(symbol);
+        }
+        return apiClient;
+    }
     public void setTradingFee(double tradingFee) { this.tradingFee = tradingFee; }
 
+    /**
+     * Indicator values of this symbol, brought up to date with the current histories.
+     */
+    public IndicatorEngine getIndicators() {
+        indicators.sync(getAllPriceHistory(), getPriceHistory());
+        return indicators;
+    }
+
+    public void addOpenOrder(Order order) {
+        openOrders.add(order);
+        orderBook.add(order);
+    }
+
+    public boolean cancelOpenOrder(Order order) {
+        orderBook.remove(order);
+        return openOrders.remove(order);
+    }
+
+    /**
+     * Moves filled orders from the open to the executed list and takes them out of the
+     * order book, at a cost proportional to the fills.
+     */
+    public void markExecuted(Collection<Order> filled) {
+        for (Order order : filled) {
+            openOrders.remove(order);
+            orderBook.remove(order);
+        }
+        executedOrders.addAll(filled);
+    }
+
+    public void clearOrders() {
+        openOrders.clear();
+        executedOrders.clear();
+        orderBook.clear();
+    }
+
+    /**
+     * Merges loaded candles into the full history; candles from visibleFrom on also go
+     * to the visible price history. Candles already present are skipped, so loading a
+     * day twice leaves the histories unchanged.
+     */
+    public void appendPrices(CandleSeries prices, LocalDate visibleFrom) {
+        checkHeapHistory();
+        allPriceHistory.mergeAll(prices);
+        int visibleStart = prices.indexOf(visibleFrom);
+        priceHistory.mergeAll(prices.view(visibleStart, prices.size()));
+    }
+
+    /**
+     * Merges candles into the visible price history only.
+     */
+    public void appendVisiblePrices(CandleSeries prices) {
+        checkHeapHistory();
+        priceHistory.mergeAll(prices);
+    }
+
+    public void clearPriceHistory() {
+        detachHistory();
+        priceHistory.clear();
+        allPriceHistory.clear();
+        indicators.reset();
+        loadedThrough = null;
+        loading = false;
+    }
+
+    /**
+     * Serves both histories from an existing read-only series, such as a memory-mapped
+     * store or a view of a candle store shared between games, instead of own heap columns.
+     * Candles from startDate on form the visible price history.
+     */
+    public void attachHistory(CandleSeries history, LocalDate startDate) {
+        this.attachedHistory = history;
+        this.attachedPriceHistory = history.view(history.indexOf(startDate), history.size());
+    }
+
+    public void detachHistory() {
+        attachedHistory = null;
+        attachedPriceHistory = null;
+    }
+
+    private void checkHeapHistory() {
+        if (attachedHistory != null) {
+            throw new IllegalStateException("Price history of " + symbol + " is served from an attached read-only series");
+        }
+    }
+
     public double getCurrentBtcPrice() {
-        if (priceHistory.isEmpty()) {
+        CandleSeries history = getPriceHistory();
+        if (history.isEmpty()) {
             return 50000.0; // Default price
         }
-        return priceHistory.get(priceHistory.size() - 1).getPrice();
+        return history.getClose(history.size() - 1);
     }
-} 
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import javax.swing.table.DefaultTableModel;
 import java.util.Map;
 import com.tradinggame.state.GameState;
 import com.tradinggame.state.SymbolState;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
 
 public class BalancePanel extends JPanel {
@@ -24,12 +25,9 @@ public class BalancePanel extends JPanel {
         initComponents();
         setupLayout();
         // Add listener for game state changes
-        gameState.addGameStateListener(new GameStateListener() {
-            @Override
-            public void onGameStateChanged() {
-                updateBalance();
-            }
-        });
+        gameState.addGameStateListener(GameStateListener.forEvents(this::updateBalance,
+            GameEvent.GAME_STARTED, GameEvent.DAY_ADVANCED, GameEvent.ORDERS_EXECUTED,
+            GameEvent.SYMBOL_CHANGED, GameEvent.PRICES_LOADED));
     }
 
     private void initComponents() {
@@ -1,8 +1,11 @@
 package com.tradinggame.ui;
 
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
-import com.tradinggame.dtos.PriceData;
-import com.tradinggame.indicators.TechnicalIndicators;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.indicators.IndicatorEngine;
+import com.tradinggame.indicators.IncrementalIchimoku;
+import com.tradinggame.metrics.ChartRebuildEvent;
 import com.tradinggame.state.GameState;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
@@ -26,7 +29,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class EnhancedChartPanel extends JPanel {
@@ -50,12 +52,9 @@ public class EnhancedChartPanel extends JPanel {
         initComponents();
         
         // Add listener for game state changes
-        gameState.addGameStateListener(new GameStateListener() {
-            @Override
-            public void onGameStateChanged() {
-                updateCharts();
-            }
-        });
+        gameState.addGameStateListener(GameStateListener.forEvents(this::updateCharts,
+            GameEvent.GAME_STARTED, GameEvent.DAY_ADVANCED, GameEvent.SYMBOL_CHANGED,
+            GameEvent.PRICES_LOADED));
     }
 
     private void initComponents() {
@@ -145,18 +144,16 @@ public class EnhancedChartPanel extends JPanel {
         TimeSeriesCollection dataset = new TimeSeriesCollection();
         if (showRSI) {
             TimeSeries rsiSeries = new TimeSeries("RSI");
-            List<PriceData> allPrices = getAllPriceHistory();
-            LocalDate currentDate = gameState.getCurrentDate();
+            CandleSeries allPrices = getAllPriceHistory();
             if (allPrices != null && !allPrices.isEmpty()) {
-                for (int i = 0; i < allPrices.size(); i++) {
-                    if (allPrices.get(i).getTimestamp().toLocalDate().isAfter(currentDate)) break;
-                    int startIndex = Math.max(0, i - 14);
-                    List<PriceData> subList = allPrices.subList(startIndex, i + 1);
-                    TechnicalIndicators.RSIResult rsi = TechnicalIndicators.calculateRSI(subList, 14);
-                    if (rsi.isValid) {
-                        LocalDateTime ldt = allPrices.get(i).getTimestamp();
+                IndicatorEngine indicators = getIndicators();
+                int end = allPrices.indexOf(gameState.getCurrentDate().plusDays(1));
+                for (int i = 0; i < end; i++) {
+                    double rsi = indicators.getRsi(i);
+                    if (!Double.isNaN(rsi)) {
+                        LocalDateTime ldt = allPrices.getTimestamp(i);
                         Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
-                        rsiSeries.addOrUpdate(new Millisecond(date), rsi.rsi);
+                        rsiSeries.addOrUpdate(new Millisecond(date), rsi);
                     }
                 }
             }
@@ -164,16 +161,14 @@ public class EnhancedChartPanel extends JPanel {
         }
         if (showATR) {
             TimeSeries atrSeries = new TimeSeries("ATR %");
-            List<PriceData> allPrices = getAllPriceHistory();
-            LocalDate currentDate = gameState.getCurrentDate();
+            CandleSeries allPrices = getAllPriceHistory();
             if (allPrices != null && !allPrices.isEmpty()) {
-                for (int i = 0; i < allPrices.size(); i++) {
-                    if (allPrices.get(i).getTimestamp().toLocalDate().isAfter(currentDate)) break;
-                    int startIndex = Math.max(0, i - 14);
-                    List<PriceData> subList = allPrices.subList(startIndex, i + 1);
-                    double atrPercent = TechnicalIndicators.calculateATRPercent(subList, 14);
-                    if (subList.size() >= 15) {
-                        LocalDateTime ldt = allPrices.get(i).getTimestamp();
+                IndicatorEngine indicators = getIndicators();
+                int end = allPrices.indexOf(gameState.getCurrentDate().plusDays(1));
+                for (int i = 0; i < end; i++) {
+                    double atrPercent = indicators.getAtrPercent(i);
+                    if (!Double.isNaN(atrPercent)) {
+                        LocalDateTime ldt = allPrices.getTimestamp(i);
                         Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
                         atrSeries.addOrUpdate(new Millisecond(date), atrPercent);
                     }
@@ -219,26 +214,35 @@ public class EnhancedChartPanel extends JPanel {
         return panel;
     }
 
-    private List<PriceData> getPriceHistory() {
+    private CandleSeries getPriceHistory() {
         return gameState.getCurrentSymbolState().getPriceHistory();
     }
-    private List<PriceData> getAllPriceHistory() {
+    private CandleSeries getAllPriceHistory() {
         return gameState.getCurrentSymbolState().getAllPriceHistory();
     }
+    private IndicatorEngine getIndicators() {
+        return gameState.getCurrentSymbolState().getIndicators();
+    }
+
+    // Candles opening at or after this time are past the current game date; before the
+    // game starts there is no date and nothing is shown
+    private static long dayAfter(LocalDate date) {
+        return date != null ? CandleSeries.toEpochMillis(date.plusDays(1)) : Long.MIN_VALUE;
+    }
 
     private XYDataset createPriceDataset() {
         TimeSeries series = new TimeSeries(gameState.getCurrentSymbol() + " Price");
-        List<PriceData> priceHistory = getPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries priceHistory = getPriceHistory();
+        long cutoff = dayAfter(gameState.getCurrentDate());
         
         if (priceHistory != null) {
-            for (PriceData priceData : priceHistory) {
+            for (int i = 0; i < priceHistory.size(); i++) {
                 try {
                     // Only show data up to the current game date
-                    if (!priceData.getTimestamp().toLocalDate().isAfter(currentDate)) {
-                        LocalDateTime ldt = priceData.getTimestamp();
+                    if (priceHistory.getTime(i) < cutoff) {
+                        LocalDateTime ldt = priceHistory.getTimestamp(i);
                         Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
-                        series.addOrUpdate(new Millisecond(date), priceData.getPrice());
+                        series.addOrUpdate(new Millisecond(date), priceHistory.getClose(i));
                     }
                 } catch (Exception e) {
                     // Skip invalid data points
@@ -251,29 +255,22 @@ public class EnhancedChartPanel extends JPanel {
 
     private XYDataset createRSIDataset() {
         TimeSeries series = new TimeSeries("RSI");
-        List<PriceData> allPrices = getAllPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries allPrices = getAllPriceHistory();
         
         if (allPrices == null || allPrices.isEmpty()) {
             return new TimeSeriesCollection(series);
         }
         
-        // Calculate RSI dynamically for each data point up to current date
-        for (int i = 0; i < allPrices.size(); i++) {
+        // Cached RSI values for each data point up to current date
+        IndicatorEngine indicators = getIndicators();
+        int end = allPrices.indexOf(gameState.getCurrentDate().plusDays(1));
+        for (int i = 0; i < end; i++) {
             try {
-                // Only process data up to the current game date
-                if (allPrices.get(i).getTimestamp().toLocalDate().isAfter(currentDate)) {
-                    break;
-                }
-                
-                // Use a rolling window of the last 14+1 data points for RSI calculation
-                int startIndex = Math.max(0, i - 14);
-                List<PriceData> subList = allPrices.subList(startIndex, i + 1);
-                TechnicalIndicators.RSIResult rsi = TechnicalIndicators.calculateRSI(subList, 14);
-                if (rsi.isValid) {
-                    LocalDateTime ldt = allPrices.get(i).getTimestamp();
+                double rsi = indicators.getRsi(i);
+                if (!Double.isNaN(rsi)) {
+                    LocalDateTime ldt = allPrices.getTimestamp(i);
                     Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
-                    series.addOrUpdate(new Millisecond(date), rsi.rsi);
+                    series.addOrUpdate(new Millisecond(date), rsi);
                 }
             } catch (Exception e) {
                 // Skip invalid data points
@@ -285,17 +282,17 @@ public class EnhancedChartPanel extends JPanel {
 
     private XYDataset createVolumeDataset() {
         TimeSeries series = new TimeSeries("Volume");
-        List<PriceData> priceHistory = getPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries priceHistory = getPriceHistory();
+        long cutoff = dayAfter(gameState.getCurrentDate());
         
         if (priceHistory != null) {
-            for (PriceData priceData : priceHistory) {
+            for (int i = 0; i < priceHistory.size(); i++) {
                 try {
                     // Only show data up to the current game date
-                    if (!priceData.getTimestamp().toLocalDate().isAfter(currentDate)) {
-                        LocalDateTime ldt = priceData.getTimestamp();
+                    if (priceHistory.getTime(i) < cutoff) {
+                        LocalDateTime ldt = priceHistory.getTimestamp(i);
                         Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
-                        series.addOrUpdate(new Millisecond(date), priceData.getVolume());
+                        series.addOrUpdate(new Millisecond(date), priceHistory.getVolume(i));
                     }
                 } catch (Exception e) {
                     // Skip invalid data points
@@ -308,12 +305,12 @@ public class EnhancedChartPanel extends JPanel {
     }
 
     private DefaultHighLowDataset createOHLCDataset() {
-        List<PriceData> priceHistory = getPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries priceHistory = getPriceHistory();
+        long cutoff = dayAfter(gameState.getCurrentDate());
         int n = priceHistory == null ? 0 : priceHistory.size();
         int validCount = 0;
-        for (PriceData pd : priceHistory) {
-            if (!pd.getTimestamp().toLocalDate().isAfter(currentDate)) validCount++;
+        for (int i = 0; i < n; i++) {
+            if (priceHistory.getTime(i) < cutoff) validCount++;
         }
         Date[] dates = new Date[validCount];
         double[] opens = new double[validCount];
@@ -322,15 +319,15 @@ public class EnhancedChartPanel extends JPanel {
         double[] closes = new double[validCount];
         double[] volumes = new double[validCount];
         int idx = 0;
-        for (PriceData pd : priceHistory) {
-            if (!pd.getTimestamp().toLocalDate().isAfter(currentDate)) {
-                Date date = Date.from(pd.getTimestamp().atZone(ZoneId.systemDefault()).toInstant());
+        for (int i = 0; i < n; i++) {
+            if (priceHistory.getTime(i) < cutoff) {
+                Date date = Date.from(priceHistory.getTimestamp(i).atZone(ZoneId.systemDefault()).toInstant());
                 dates[idx] = date;
-                opens[idx] = pd.getOpen();
-                highs[idx] = pd.getHigh();
-                lows[idx] = pd.getLow();
-                closes[idx] = pd.getPrice();
-                volumes[idx] = pd.getVolume();
+                opens[idx] = priceHistory.getOpen(i);
+                highs[idx] = priceHistory.getHigh(i);
+                lows[idx] = priceHistory.getLow(i);
+                closes[idx] = priceHistory.getClose(i);
+                volumes[idx] = priceHistory.getVolume(i);
                 idx++;
             }
         }
@@ -338,8 +335,7 @@ public class EnhancedChartPanel extends JPanel {
     }
 
     private void addBollingerBands(XYPlot plot) {
-        List<PriceData> allPrices = getAllPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries allPrices = getAllPriceHistory();
         
         if (allPrices == null || allPrices.isEmpty() || allPrices.size() < 20) {
             return;
@@ -350,26 +346,17 @@ public class EnhancedChartPanel extends JPanel {
             TimeSeries middleSeries = new TimeSeries("Middle Band");
             TimeSeries lowerSeries = new TimeSeries("Lower Band");
             
-            // Calculate Bollinger Bands dynamically for each data point up to current date
-            for (int i = 0; i < allPrices.size(); i++) {
+            // Cached 20-period Bollinger Bands for each data point up to current date
+            IndicatorEngine indicators = getIndicators();
+            int end = allPrices.indexOf(gameState.getCurrentDate().plusDays(1));
+            for (int i = 0; i < end; i++) {
                 try {
-                    // Only process data up to the current game date
-                    if (allPrices.get(i).getTimestamp().toLocalDate().isAfter(currentDate)) {
-                        break;
-                    }
-                    
-                    // Use a rolling window of the last 20 data points for Bollinger Bands calculation
-                    int startIndex = Math.max(0, i - 19); // 20 data points (i-19 to i inclusive)
-                    List<PriceData> rollingWindow = allPrices.subList(startIndex, i + 1);
-                    
-                    if (rollingWindow.size() >= 20) {
-                        TechnicalIndicators.BollingerBands bb = TechnicalIndicators.calculateBollingerBands(rollingWindow, 20, 2);
-                        
-                        LocalDateTime ldt = allPrices.get(i).getTimestamp();
+                    if (!Double.isNaN(indicators.getMiddleBand(i))) {
+                        LocalDateTime ldt = allPrices.getTimestamp(i);
                         Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
-                        upperSeries.addOrUpdate(new Millisecond(date), bb.upperBand);
-                        middleSeries.addOrUpdate(new Millisecond(date), bb.middleBand);
-                        lowerSeries.addOrUpdate(new Millisecond(date), bb.lowerBand);
+                        upperSeries.addOrUpdate(new Millisecond(date), indicators.getUpperBand(i));
+                        middleSeries.addOrUpdate(new Millisecond(date), indicators.getMiddleBand(i));
+                        lowerSeries.addOrUpdate(new Millisecond(date), indicators.getLowerBand(i));
                     }
                 } catch (Exception e) {
                     System.err.println("Error calculating Bollinger Bands for data point " + i + ": " + e.getMessage());
@@ -409,11 +396,11 @@ public class EnhancedChartPanel extends JPanel {
         TimeSeries overboughtSeries = new TimeSeries("Overbought (70)");
         TimeSeries oversoldSeries = new TimeSeries("Oversold (30)");
         
-        List<PriceData> priceHistory = getPriceHistory();
+        CandleSeries priceHistory = getPriceHistory();
         if (priceHistory != null) {
-            for (PriceData priceData : priceHistory) {
+            for (int i = 0; i < priceHistory.size(); i++) {
                 try {
-                    LocalDateTime ldt = priceData.getTimestamp();
+                    LocalDateTime ldt = priceHistory.getTimestamp(i);
                     Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
                     
                     overboughtSeries.addOrUpdate(new Millisecond(date), 70);
@@ -460,19 +447,15 @@ public class EnhancedChartPanel extends JPanel {
     }
 
     private void addVWAP(XYPlot plot, int datasetIndex) {
-        List<PriceData> priceHistory = getPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries priceHistory = getPriceHistory();
         TimeSeries vwapSeries = new TimeSeries("VWAP");
-        double cumulativePV = 0;
-        double cumulativeVolume = 0;
-        for (PriceData pd : priceHistory) {
-            if (!pd.getTimestamp().toLocalDate().isAfter(currentDate)) {
-                cumulativePV += pd.getPrice() * pd.getVolume();
-                cumulativeVolume += pd.getVolume();
-                if (cumulativeVolume > 0) {
-                    Date date = Date.from(pd.getTimestamp().atZone(ZoneId.systemDefault()).toInstant());
-                    vwapSeries.addOrUpdate(new Millisecond(date), cumulativePV / cumulativeVolume);
-                }
+        IndicatorEngine indicators = getIndicators();
+        int end = priceHistory.indexOf(gameState.getCurrentDate().plusDays(1));
+        for (int i = 0; i < end; i++) {
+            double vwap = indicators.getVwap(i);
+            if (!Double.isNaN(vwap)) {
+                Date date = Date.from(priceHistory.getTimestamp(i).atZone(ZoneId.systemDefault()).toInstant());
+                vwapSeries.addOrUpdate(new Millisecond(date), vwap);
             }
         }
         TimeSeriesCollection vwapDataset = new TimeSeriesCollection();
@@ -486,29 +469,27 @@ public class EnhancedChartPanel extends JPanel {
     }
 
     private void addIchimokuCloud(XYPlot plot, int datasetIndex) {
-        List<PriceData> priceHistory = getPriceHistory();
-        LocalDate currentDate = gameState.getCurrentDate();
+        CandleSeries priceHistory = getPriceHistory();
+        long cutoff = dayAfter(gameState.getCurrentDate());
         int n = priceHistory.size();
-        TechnicalIndicators.IchimokuCloud ichimoku = TechnicalIndicators.calculateIchimokuCloud(priceHistory);
+        IncrementalIchimoku ichimoku = getIndicators().getIchimoku();
         TimeSeries tenkan = new TimeSeries("Tenkan-sen");
         TimeSeries kijun = new TimeSeries("Kijun-sen");
         TimeSeries senkouA = new TimeSeries("Senkou Span A");
         TimeSeries senkouB = new TimeSeries("Senkou Span B");
         TimeSeries chikou = new TimeSeries("Chikou Span");
         for (int i = 0; i < n; i++) {
-            PriceData pd = priceHistory.get(i);
-            if (!pd.getTimestamp().toLocalDate().isAfter(currentDate)) {
-                Date date = Date.from(pd.getTimestamp().atZone(ZoneId.systemDefault()).toInstant());
-                if (!Double.isNaN(ichimoku.tenkan[i])) tenkan.addOrUpdate(new Millisecond(date), ichimoku.tenkan[i]);
-                if (!Double.isNaN(ichimoku.kijun[i])) kijun.addOrUpdate(new Millisecond(date), ichimoku.kijun[i]);
-                if (!Double.isNaN(ichimoku.chikou[i])) chikou.addOrUpdate(new Millisecond(date), ichimoku.chikou[i]);
+            if (priceHistory.getTime(i) < cutoff) {
+                Date date = Date.from(priceHistory.getTimestamp(i).atZone(ZoneId.systemDefault()).toInstant());
+                if (!Double.isNaN(ichimoku.getTenkan(i))) tenkan.addOrUpdate(new Millisecond(date), ichimoku.getTenkan(i));
+                if (!Double.isNaN(ichimoku.getKijun(i))) kijun.addOrUpdate(new Millisecond(date), ichimoku.getKijun(i));
+                if (!Double.isNaN(ichimoku.getChikou(i))) chikou.addOrUpdate(new Millisecond(date), ichimoku.getChikou(i));
             }
             // Senkou A/B are plotted 26 periods ahead
             if (i >= 26 && i < n) {
-                PriceData futurePd = priceHistory.get(i);
-                Date futureDate = Date.from(futurePd.getTimestamp().atZone(ZoneId.systemDefault()).toInstant());
-                if (!Double.isNaN(ichimoku.senkouA[i])) senkouA.addOrUpdate(new Millisecond(futureDate), ichimoku.senkouA[i]);
-                if (!Double.isNaN(ichimoku.senkouB[i])) senkouB.addOrUpdate(new Millisecond(futureDate), ichimoku.senkouB[i]);
+                Date futureDate = Date.from(priceHistory.getTimestamp(i).atZone(ZoneId.systemDefault()).toInstant());
+                if (!Double.isNaN(ichimoku.getSenkouA(i))) senkouA.addOrUpdate(new Millisecond(futureDate), ichimoku.getSenkouA(i));
+                if (!Double.isNaN(ichimoku.getSenkouB(i))) senkouB.addOrUpdate(new Millisecond(futureDate), ichimoku.getSenkouB(i));
             }
         }
         TimeSeriesCollection ichimokuDataset = new TimeSeriesCollection();
@@ -546,6 +527,8 @@ public class EnhancedChartPanel extends JPanel {
     }
 
     private void updateCharts() {
+        ChartRebuildEvent event = new ChartRebuildEvent();
+        event.begin();
         removeAll();
         add(indicatorPanel, BorderLayout.NORTH);
         chartPanel = createMainChartPanel();
@@ -557,6 +540,30 @@ public class EnhancedChartPanel extends JPanel {
         add(chartsPanel, BorderLayout.CENTER);
         revalidate();
         repaint();
+        event.end();
+        if (event.shouldCommit()) {
+            event.symbol = gameState.getCurrentSymbol();
+            countData(chartPanel, event);
+            countData(rsiChartPanel, event);
+            event.commit();
+        }
+    }
+
+    private static void countData(ChartPanel panel, ChartRebuildEvent event) {
+        if (panel == null || !(panel.getChart().getPlot() instanceof XYPlot)) {
+            return;
+        }
+        XYPlot plot = (XYPlot) panel.getChart().getPlot();
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            XYDataset dataset = plot.getDataset(i);
+            if (dataset == null) {
+                continue;
+            }
+            for (int series = 0; series < dataset.getSeriesCount(); series++) {
+                event.series++;
+                event.points += dataset.getItemCount(series);
+            }
+        }
     }
 
     public void updateForSymbol() {
@@ -7,6 +7,7 @@ import java.util.Random;
 public class LoadingDialog extends JDialog {
     private JLabel loadingLabel;
     private JLabel messageLabel;
+    private JProgressBar progressBar;
     private Timer messageTimer;
     private Random random = new Random();
     
@@ -73,7 +74,7 @@ public class LoadingDialog extends JDialog {
         messageLabel.setForeground(Color.BLACK);
         
         // Create a progress bar for visual feedback
-        JProgressBar progressBar = new JProgressBar();
+        progressBar = new JProgressBar();
         progressBar.setIndeterminate(true);
         progressBar.setPreferredSize(new Dimension(300, 20));
         progressBar.setMaximumSize(new Dimension(300, 20));
@@ -110,13 +111,6 @@ public class LoadingDialog extends JDialog {
         mainPanel.add(Box.createVerticalStrut(15));
         
         // Progress bar
-        JProgressBar progressBar = new JProgressBar();
-        progressBar.setIndeterminate(true);
-        progressBar.setPreferredSize(new Dimension(300, 20));
-        progressBar.setMaximumSize(new Dimension(300, 20));
-        progressBar.setAlignmentX(Component.CENTER_ALIGNMENT);
-        progressBar.setBackground(new Color(240, 240, 240));
-        progressBar.setForeground(new Color(33, 150, 243));
         mainPanel.add(progressBar);
         
         mainPanel.add(Box.createVerticalStrut(20));
@@ -148,6 +142,19 @@ public class LoadingDialog extends JDialog {
         messageLabel.setText(message);
     }
 
+    /**
+     * Switches the progress bar to determinate mode. Safe to call from any thread.
+     */
+    public void setProgress(int completed, int total) {
+        SwingUtilities.invokeLater(() -> {
+            progressBar.setIndeterminate(false);
+            progressBar.setMaximum(total);
+            progressBar.setValue(completed);
+            progressBar.setStringPainted(true);
+            progressBar.setString(completed + " / " + total);
+        });
+    }
+
     public void close() {
         if (messageTimer != null) {
             messageTimer.stop();
@@ -7,6 +7,7 @@ import com.tradinggame.state.GameState;
 import com.tradinggame.dtos.Order;
 import com.tradinggame.dtos.OrderType;
 import com.tradinggame.state.SymbolState;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
 import com.tradinggame.utils.TableUtils;
 
@@ -26,10 +27,11 @@ public class OpenDealsPanel extends JPanel {
         initComponents();
         setupLayout();
         refreshOpenDeals();
-        gameState.addGameStateListener(() -> {
+        gameState.addGameStateListener(GameStateListener.forEvents(() -> {
             refreshOpenDeals();
             updateDealsList();
-        });
+        }, GameEvent.GAME_STARTED, GameEvent.ORDER_PLACED, GameEvent.ORDER_CANCELLED,
+            GameEvent.ORDERS_EXECUTED, GameEvent.SYMBOL_CHANGED));
     }
 
     private void initComponents() {
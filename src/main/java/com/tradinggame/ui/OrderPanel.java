@@ -10,6 +10,7 @@ import javax.swing.event.DocumentListener;
 import com.tradinggame.state.GameState;
 import com.tradinggame.state.SymbolState;
 import com.tradinggame.dtos.OrderType;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
 import com.tradinggame.utils.OrderUtils;
 
@@ -37,12 +38,8 @@ public class OrderPanel extends JPanel {
         setupEventHandlers();
         
         // Add listener for game state changes
-        gameState.addGameStateListener(new GameStateListener() {
-            @Override
-            public void onGameStateChanged() {
-                updateOrderDateCombo();
-            }
-        });
+        gameState.addGameStateListener(GameStateListener.forEvents(this::updateOrderDateCombo,
+            GameEvent.GAME_STARTED, GameEvent.DAY_ADVANCED));
     }
 
     private void initComponents() {
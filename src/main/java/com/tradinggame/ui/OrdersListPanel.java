@@ -3,10 +3,12 @@ package com.tradinggame.ui;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 import com.tradinggame.state.GameState;
 import com.tradinggame.dtos.Order;
 import com.tradinggame.state.SymbolState;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
 import com.tradinggame.utils.TableUtils;
 
@@ -14,6 +16,7 @@ public class OrdersListPanel extends JPanel {
     private GameState gameState;
     private JTable ordersTable;
     private DefaultTableModel tableModel;
+    private List<Order> shownOrders = new ArrayList<>(); // Open orders in table row order
 
     public OrdersListPanel(GameState gameState) {
         this.gameState = gameState;
@@ -25,12 +28,9 @@ public class OrdersListPanel extends JPanel {
         setupLayout();
         
         // Add listener for game state changes
-        gameState.addGameStateListener(new GameStateListener() {
-            @Override
-            public void onGameStateChanged() {
-                updateOrdersList();
-            }
-        });
+        gameState.addGameStateListener(GameStateListener.forEvents(this::updateOrdersList,
+            GameEvent.GAME_STARTED, GameEvent.ORDER_PLACED, GameEvent.ORDER_CANCELLED,
+            GameEvent.ORDERS_EXECUTED, GameEvent.SYMBOL_CHANGED));
     }
 
     private void initComponents() {
@@ -74,10 +74,8 @@ public class OrdersListPanel extends JPanel {
         ordersTable.getColumnModel().getColumn(5).setCellEditor(
             TableUtils.createButtonEditor(new Color(200, 230, 255), Color.BLACK, () -> {
                 int row = ordersTable.getSelectedRow();
-                if (row >= 0 && row < getSymbolState().getOpenOrders().size()) {
-                    java.util.List<Order> openOrders = getSymbolState().getOpenOrders();
-                    Order orderToCancel = openOrders.get(row);
-                    gameState.cancelOrder(orderToCancel);
+                if (row >= 0 && row < shownOrders.size()) {
+                    gameState.cancelOrder(shownOrders.get(row));
                 }
             })
         );
@@ -97,7 +95,8 @@ public class OrdersListPanel extends JPanel {
             tableModel.setRowCount(0);
             
             // Add open orders
-            List<Order> openOrders = getSymbolState().getOpenOrders();
+            List<Order> openOrders = new ArrayList<>(getSymbolState().getOpenOrders());
+            shownOrders = openOrders;
             String symbol = getSymbolState().getSymbol();
             for (int i = 0; i < openOrders.size(); i++) {
                 Order order = openOrders.get(i);
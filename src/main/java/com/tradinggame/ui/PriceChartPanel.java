@@ -16,6 +16,7 @@ import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 import com.tradinggame.state.GameState;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
 import com.tradinggame.dtos.PriceData;
 
@@ -32,12 +33,9 @@ public class PriceChartPanel extends JPanel {
         createChart();
         
         // Add listener for game state changes
-        gameState.addGameStateListener(new GameStateListener() {
-            @Override
-            public void onGameStateChanged() {
-                updateChart();
-            }
-        });
+        gameState.addGameStateListener(GameStateListener.forEvents(this::updateChart,
+            GameEvent.GAME_STARTED, GameEvent.DAY_ADVANCED, GameEvent.SYMBOL_CHANGED,
+            GameEvent.PRICES_LOADED));
     }
 
     private void createChart() {
@@ -90,7 +88,7 @@ public class PriceChartPanel extends JPanel {
     private XYDataset createDataset() {
         TimeSeries series = new TimeSeries("BTC Price");
         
-        List<PriceData> priceHistory = gameState.getPriceHistory();
+        List<PriceData> priceHistory = gameState.getPriceHistory().asList();
         for (PriceData priceData : priceHistory) {
             LocalDateTime ldt = priceData.getTimestamp();
             Date date = Date.from(ldt.atZone(ZoneId.systemDefault()).toInstant());
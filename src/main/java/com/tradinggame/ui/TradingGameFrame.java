@@ -8,8 +8,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import com.tradinggame.state.GameState;
-import com.tradinggame.state.SymbolState;
+import com.tradinggame.dtos.GameEvent;
 import com.tradinggame.dtos.GameStateListener;
+import com.tradinggame.dtos.LoadProgressListener;
 import com.tradinggame.utils.DialogUtils;
 import com.tradinggame.utils.FileUtils;
 
@@ -40,6 +41,10 @@ public class TradingGameFrame extends JFrame {
 
     private void initComponents() {
         gameState = new GameState();
+        // Switching symbols loads in the background and never blocks the EDT
+        gameState.setUpdateExecutor(SwingUtilities::invokeLater);
+        // The player only ever sees up to the current day, so load as the game advances
+        gameState.setIncrementalLoading(true);
         
         // Initialize symbol selection
         symbolComboBox = new JComboBox<>(new String[]{"BTCUSDC", "ETHUSDC", "BNBUSDC"});
@@ -136,17 +141,12 @@ public class TradingGameFrame extends JFrame {
             @Override
             public void actionPerformed(ActionEvent e) {
                 gameState.nextDay();
-                updateUI();
             }
         });
 
         // Add listeners for game state changes
-        gameState.addGameStateListener(new GameStateListener() {
-            @Override
-            public void onGameStateChanged() {
-                updateUI();
-            }
-        });
+        gameState.addGameStateListener(GameStateListener.forEvents(this::updateUI,
+            GameEvent.GAME_STARTED, GameEvent.DAY_ADVANCED, GameEvent.PRICES_LOADED));
     }
 
     private void updateUI() {
@@ -164,7 +164,8 @@ public class TradingGameFrame extends JFrame {
                     }
                 } else {
                     gameStatusLabel.setText("Game Status: Active");
-                    nextDayButton.setEnabled(true);
+                    // Held back while prices for the current date are still loading
+                    nextDayButton.setEnabled(gameState.isReadyForNextDay());
                 }
             } else {
                 currentDateLabel.setText("Current Date: Not Started");
@@ -176,15 +177,7 @@ public class TradingGameFrame extends JFrame {
 
     private void showGameResults() {
         double initialBalance = gameState.getInitialBalance();
-        double finalBalance = gameState.getUsdcBalance();
-        for (Map.Entry<String, Double> entry : gameState.getAllCryptoBalances().entrySet()) {
-            String crypto = entry.getKey();
-            double amount = entry.getValue();
-            String symbol = crypto + "USDC";
-            SymbolState state = gameState.getSymbolStates().get(symbol);
-            double price = (state != null) ? state.getCurrentBtcPrice() : 0.0;
-            finalBalance += amount * price;
-        }
+        double finalBalance = gameState.getPortfolioValue();
         double pnl = finalBalance - initialBalance;
         double pnlPercentage = (pnl / initialBalance) * 100;
         String playerName = gameState.getPlayerName();
@@ -303,6 +296,7 @@ public class TradingGameFrame extends JFrame {
             if (dialog.isConfirmed()) {
                 // Create loading dialog
                 LoadingDialog loadingDialog = new LoadingDialog(newFrame);
+                newFrame.addLoadProgressListener(loadingDialog::setProgress);
                 
                 // Start game in background thread
                 Thread backgroundThread = new Thread(() -> {
@@ -364,8 +358,12 @@ public class TradingGameFrame extends JFrame {
         updateUI();
     }
 
+    public void addLoadProgressListener(LoadProgressListener listener) {
+        gameState.addLoadProgressListener(listener);
+    }
+
+    // The charts rebuild themselves on SYMBOL_CHANGED
     private void updatePanelsForSymbol() {
-        chartPanel.updateForSymbol();
         orderPanel.updateForSymbol();
         balancePanel.updateForSymbol();
         ordersListPanel.updateForSymbol();
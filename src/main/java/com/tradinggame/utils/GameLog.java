@@ -0,0 +1,190 @@
+package com.tradinggame.utils;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Leveled logging with lazy message construction. Callers only enqueue the format and its
+ * arguments into a bounded ring buffer; a daemon writer thread formats and prints them in
+ * batches, so a log call never formats or touches the console on the calling thread.
+ * WARN and ERROR go to System.err, the rest to System.out.
+ *
+ * The level defaults to INFO and can be set with -Dtradinggame.log.level=debug or
+ * setLevel. When the buffer is full TRACE and DEBUG messages are dropped (and counted),
+ * while INFO and above wait for room.
+ */
+public final class GameLog {
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH = 256;
+
+    private static volatile Level level = parseLevel(System.getProperty("tradinggame.log.level"), Level.INFO);
+    private static final BlockingQueue<Entry> buffer = new ArrayBlockingQueue<>(CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong enqueued = new AtomicLong();
+    private static final Object writtenLock = new Object();
+    private static long written;
+    private static Thread writer;
+
+    private GameLog() {
+    }
+
+    public static Level getLevel() { return level; }
+    public static void setLevel(Level newLevel) { level = newLevel; }
+
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel != Level.OFF && messageLevel.compareTo(level) >= 0;
+    }
+
+    public static void trace(String format, Object... args) { log(Level.TRACE, format, args); }
+    public static void debug(String format, Object... args) { log(Level.DEBUG, format, args); }
+    public static void info(String format, Object... args) { log(Level.INFO, format, args); }
+    public static void warn(String format, Object... args) { log(Level.WARN, format, args); }
+    public static void error(String format, Object... args) { log(Level.ERROR, format, args); }
+
+    /**
+     * Logs String.format(format, args), formatted on the writer thread; arguments must not
+     * be changed after the call.
+     */
+    public static void log(Level messageLevel, String format, Object... args) {
+        if (isEnabled(messageLevel)) {
+            enqueue(new Entry(messageLevel, format, args, null));
+        }
+    }
+
+    /**
+     * Logs the supplied message, which is built on the writer thread.
+     */
+    public static void log(Level messageLevel, Supplier<String> message) {
+        if (isEnabled(messageLevel)) {
+            enqueue(new Entry(messageLevel, null, null, message));
+        }
+    }
+
+    /**
+     * Waits until everything logged so far has been printed, for at most timeoutMillis.
+     */
+    public static void flush(long timeoutMillis) {
+        long target = enqueued.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (writtenLock) {
+            while (written < target) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return;
+                }
+                try {
+                    writtenLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void enqueue(Entry entry) {
+        startWriter();
+        if (entry.level.compareTo(Level.INFO) < 0) {
+            if (!buffer.offer(entry)) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } else {
+            try {
+                buffer.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        enqueued.incrementAndGet();
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(GameLog::writeLoop, "game-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1000), "game-log-flush"));
+    }
+
+    private static void writeLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        while (true) {
+            try {
+                batch.add(buffer.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            buffer.drainTo(batch, BATCH - 1);
+            boolean toErr = false;
+            for (Entry entry : batch) {
+                PrintStream out = entry.level.compareTo(Level.WARN) >= 0 ? System.err : System.out;
+                toErr |= out == System.err;
+                out.println(entry.format());
+            }
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                System.err.println("[WARN] " + lost + " log messages dropped, the log buffer was full");
+                toErr = true;
+            }
+            System.out.flush();
+            if (toErr) {
+                System.err.flush();
+            }
+            synchronized (writtenLock) {
+                written += batch.size();
+                writtenLock.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level " + value + ", using " + fallback);
+            return fallback;
+        }
+    }
+
+    private static class Entry {
+        final Level level;
+        final String format;
+        final Object[] args;
+        final Supplier<String> message;
+
+        Entry(Level level, String format, Object[] args, Supplier<String> message) {
+            this.level = level;
+            this.format = format;
+            this.args = args;
+            this.message = message;
+        }
+
+        String format() {
+            String text;
+            try {
+                text = message != null ? message.get()
+                    : args == null || args.length == 0 ? format : String.format(format, args);
+            } catch (RuntimeException e) {
+                text = format + " (log formatting failed: " + e + ")";
+            }
+            return "[" + level + "] " + text;
+        }
+    }
+}
\ No newline at end of file
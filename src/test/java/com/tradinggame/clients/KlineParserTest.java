@@ -0,0 +1,164 @@
+package com.tradinggame.clients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.tradinggame.dtos.PriceSeries;
+
+class KlineParserTest {
+
+    @Test
+    void parsesQuotedAndUnquotedNumbers() throws IOException {
+        String[] values = {"42000.01", "-1.5", "4.2e3", "1E-7", "-0.000123", "7"};
+        PriceSeries series = parse("[[1741305600000,\"" + values[0] + "\"," + values[1] + ",\"" + values[2] + "\","
+            + values[3] + ",\"" + values[4] + "\"],"
+            + "[\"1741320000000\"," + values[5] + ",\"" + values[5] + "\",1,2,3]]");
+
+        assertEquals(2, series.size());
+        assertEquals(1741305600000L, series.getTime(0));
+        assertBits(Double.parseDouble(values[0]), series.getOpen(0));
+        assertBits(Double.parseDouble(values[1]), series.getHigh(0));
+        assertBits(Double.parseDouble(values[2]), series.getLow(0));
+        assertBits(Double.parseDouble(values[3]), series.getClose(0));
+        assertBits(Double.parseDouble(values[4]), series.getVolume(0));
+        assertEquals(1741320000000L, series.getTime(1));
+        assertBits(7, series.getOpen(1));
+        assertBits(7, series.getHigh(1));
+    }
+
+    @Test
+    void fastPathRoundsLikeParseDouble() throws IOException {
+        Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            int digits = 1 + random.nextInt(16);
+            StringBuilder number = new StringBuilder();
+            for (int i = 0; i < digits; i++) {
+                number.append((char) ('0' + random.nextInt(10)));
+            }
+            int scale = random.nextInt(digits + 1);
+            if (scale > 0) {
+                number.insert(digits - scale, '.');
+            }
+            if (random.nextBoolean()) {
+                number.insert(0, '-');
+            }
+            assertParsesLike(number.toString());
+        }
+    }
+
+    @Test
+    void fallsBackForLongMantissasAndScales() throws IOException {
+        assertParsesLike("9007199254740992");
+        assertParsesLike("9007199254740993");
+        assertParsesLike("900719925474099.3");
+        assertParsesLike("123456789012345678901.5");
+        assertParsesLike("0.12345678901234567890123");
+        assertParsesLike("0.0000000000000000000001");
+        assertParsesLike("0.00000000000000000000001");
+        assertParsesLike("1.00000000000000000000000000001");
+    }
+
+    @Test
+    void skipsTrailingFields() throws IOException {
+        PriceSeries series = parse("[[1741305600000,\"1\",\"2\",\"3\",\"4\",\"5\",1741319999999,"
+            + "\"a \\\"quoted]\\\\ value\",[1,[2,{\"x\":\"]\"}],[]],{\"k\":[1,\"}\"]},true,null, -3.5e2 ],"
+            + " [1741320000000, \"6\", \"7\", \"8\", \"9\", \"10\"] ]");
+
+        assertEquals(2, series.size());
+        assertBits(5, series.getVolume(0));
+        assertEquals(1741320000000L, series.getTime(1));
+        assertBits(10, series.getVolume(1));
+    }
+
+    @Test
+    void parsesEmptyArray() throws IOException {
+        assertEquals(0, parse("[]").size());
+        assertEquals(0, parse(" [ ]\n").size());
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        String[] malformed = {
+            "",
+            "[",
+            "[[",
+            "{}",
+            "[]x",
+            "[[1,\"1\",\"2\",\"3\",\"4\"]]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"5\"]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"5\"],]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"abc\"]]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"1e\"]]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"1.2.3\"]]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"5]]",
+            "[[x,\"1\",\"2\",\"3\",\"4\",\"5\"]]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"5\",\"unterminated]]",
+            "[[1,\"1\",\"2\",\"3\",\"4\",\"5\",[1,[2]]",
+        };
+        for (String json : malformed) {
+            assertThrows(IOException.class, () -> parse(json), json);
+        }
+    }
+
+    @Test
+    void matchesGsonOnCachedDays() throws IOException {
+        Path cache = Paths.get("cache");
+        if (!Files.isDirectory(cache)) {
+            return;
+        }
+        List<Path> days;
+        try (Stream<Path> files = Files.walk(cache)) {
+            days = files.filter(p -> p.toString().endsWith(".json")).collect(Collectors.toList());
+        }
+        assertTrue(!days.isEmpty());
+        for (Path day : days) {
+            byte[] json = Files.readAllBytes(day);
+            PriceSeries parsed = KlineParser.parse(json);
+            JsonArray klines = new Gson().fromJson(new String(json, StandardCharsets.UTF_8), JsonArray.class);
+            assertEquals(klines.size(), parsed.size(), day.toString());
+            for (int i = 0; i < klines.size(); i++) {
+                JsonArray kline = klines.get(i).getAsJsonArray();
+                assertEquals(kline.get(0).getAsLong(), parsed.getTime(i));
+                assertBits(Double.parseDouble(kline.get(1).getAsString()), parsed.getOpen(i));
+                assertBits(Double.parseDouble(kline.get(2).getAsString()), parsed.getHigh(i));
+                assertBits(Double.parseDouble(kline.get(3).getAsString()), parsed.getLow(i));
+                assertBits(Double.parseDouble(kline.get(4).getAsString()), parsed.getClose(i));
+                assertBits(Double.parseDouble(kline.get(5).getAsString()), parsed.getVolume(i));
+            }
+        }
+    }
+
+    private static void assertParsesLike(String number) throws IOException {
+        double expected = Double.parseDouble(number);
+        PriceSeries quoted = parse("[[0,\"" + number + "\",0,0,0,0]]");
+        PriceSeries unquoted = parse("[[0," + number + ",0,0,0,0]]");
+        assertBits(expected, quoted.getOpen(0), number);
+        assertBits(expected, unquoted.getOpen(0), number);
+    }
+
+    private static void assertBits(double expected, double actual) {
+        assertBits(expected, actual, null);
+    }
+
+    private static void assertBits(double expected, double actual, String message) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+            () -> (message != null ? message + ": " : "") + expected + " != " + actual);
+    }
+
+    private static PriceSeries parse(String json) throws IOException {
+        return KlineParser.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
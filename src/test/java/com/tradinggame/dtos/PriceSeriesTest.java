@@ -0,0 +1,193 @@
+package com.tradinggame.dtos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class PriceSeriesTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 1);
+    private static final long HOURS_4 = 4L * 60 * 60 * 1000;
+
+    @Test
+    void mergingTheSameDayTwiceAddsNothing() {
+        PriceSeries series = new PriceSeries();
+
+        assertEquals(6, series.mergeAll(day(DAY)));
+        assertEquals(0, series.mergeAll(day(DAY)));
+        assertEquals(6, series.size());
+        assertFalse(series.merge(time(DAY, 2), 1, 1, 1, 1, 1));
+        assertEquals(6, series.size());
+    }
+
+    @Test
+    void duplicatesInTheMergedSeriesAreAddedOnce() {
+        PriceSeries series = new PriceSeries();
+        assertEquals(3, series.mergeAll(series(time(DAY, 0), time(DAY, 0), time(DAY, 1), time(DAY, 1), time(DAY, 2))));
+        assertEquals(3, series.size());
+
+        // Older duplicates go through insertMissing, newer ones through the append path
+        PriceSeries history = series(time(DAY, 2), time(DAY, 3));
+        int added = history.mergeAll(series(time(DAY, 0), time(DAY, 0), time(DAY, 1), time(DAY, 2), time(DAY, 3),
+            time(DAY, 4), time(DAY, 4)));
+        assertEquals(3, added);
+        assertTimes(history, time(DAY, 0), time(DAY, 1), time(DAY, 2), time(DAY, 3), time(DAY, 4));
+    }
+
+    @Test
+    void insertsOlderCandlesInTheMiddle() {
+        PriceSeries series = new PriceSeries();
+        series.mergeAll(day(DAY));
+        series.mergeAll(day(DAY.plusDays(2)));
+
+        assertEquals(6, series.mergeAll(day(DAY.plusDays(1))));
+
+        assertEquals(18, series.size());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals(time(DAY, i), series.getTime(i));
+            assertEquals(close(time(DAY, i)), series.getClose(i));
+        }
+    }
+
+    @Test
+    void rebuildsTheDayIndexAfterInsertingOlderCandles() {
+        PriceSeries series = new PriceSeries();
+        series.mergeAll(day(DAY.plusDays(2)));
+        series.mergeAll(day(DAY.plusDays(4)));
+        series.mergeAll(day(DAY));
+
+        assertEquals(0, series.indexOf(DAY.minusDays(1)));
+        assertEquals(0, series.indexOf(DAY));
+        assertEquals(6, series.indexOf(DAY.plusDays(1)));
+        assertEquals(6, series.indexOf(DAY.plusDays(2)));
+        assertEquals(12, series.indexOf(DAY.plusDays(3)));
+        assertEquals(12, series.indexOf(DAY.plusDays(4)));
+        assertEquals(18, series.indexOf(DAY.plusDays(5)));
+        assertTrue(series.getDay(DAY.plusDays(1)).isEmpty());
+        CandleSeries day = series.getDay(DAY.plusDays(2));
+        assertEquals(6, day.size());
+        assertEquals(time(DAY.plusDays(2), 0), day.getTime(0));
+
+        // Appends after the rebuild keep indexing days
+        series.mergeAll(day(DAY.plusDays(5)));
+        assertEquals(18, series.indexOf(DAY.plusDays(5)));
+        assertEquals(6, series.getDay(DAY.plusDays(5)).size());
+    }
+
+    @Test
+    void viewsKeepTheirCandlesWhenMergingRebuildsTheColumns() {
+        PriceSeries series = new PriceSeries();
+        series.mergeAll(day(DAY.plusDays(1)));
+        PriceSeries view = series.view(0, series.size());
+
+        series.mergeAll(day(DAY));
+
+        assertEquals(12, series.size());
+        assertEquals(6, view.size());
+        for (int i = 0; i < view.size(); i++) {
+            assertEquals(time(DAY.plusDays(1), i), view.getTime(i));
+            assertEquals(close(time(DAY.plusDays(1), i)), view.getClose(i));
+        }
+    }
+
+    @Test
+    void sizeEqualsTheNumberOfDistinctCandles() {
+        Random random = new Random(7);
+        PriceSeries series = new PriceSeries(1);
+        Map<Long, Double> expected = new TreeMap<>();
+        for (int round = 0; round < 500; round++) {
+            int start = random.nextInt(200);
+            int count = random.nextInt(12);
+            PriceSeries batch = new PriceSeries();
+            long slot = start;
+            for (int i = 0; i < count; i++) {
+                // Occasionally repeat a slot to put duplicates inside the batch
+                slot += random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(3);
+                long time = time(DAY, (int) slot);
+                batch.append(time, 1, 1, 1, close(time), 1);
+            }
+            int before = expected.size();
+            for (int i = 0; i < batch.size(); i++) {
+                expected.putIfAbsent(batch.getTime(i), batch.getClose(i));
+            }
+            assertEquals(expected.size() - before, series.mergeAll(batch));
+            assertEquals(expected.size(), series.size());
+        }
+        int i = 0;
+        for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getKey().longValue(), series.getTime(i));
+            assertEquals(entry.getValue(), series.getClose(i));
+            i++;
+        }
+    }
+
+    @Test
+    void readerSeesEveryCandleThatOneWriterPublishes() throws InterruptedException {
+        int candles = 2_000_000;
+        PriceSeries series = new PriceSeries(1);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < candles; i++) {
+                long time = time(DAY, i);
+                series.append(time, 1, 2, 0.5, close(time), 10);
+            }
+        }, "price-series-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        // Spins on size(), so a size that is not published makes the reader hang
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            int n;
+            while ((n = series.size()) < candles) {
+                if (n > 0) {
+                    long time = time(DAY, n - 1);
+                    assertEquals(time, series.getTime(n - 1));
+                    assertEquals(close(time), series.getClose(n - 1));
+                    assertEquals(10, series.getVolume(n - 1));
+                    LocalDate date = DAY.plusDays((n - 1) / 6);
+                    assertEquals((n - 1) / 6 * 6, series.indexOf(date));
+                }
+            }
+        });
+        writer.join();
+        assertEquals(time(DAY, candles - 1), series.getTime(candles - 1));
+    }
+
+    private static long time(LocalDate date, int candle) {
+        return CandleSeries.toEpochMillis(date) + candle * HOURS_4;
+    }
+
+    private static double close(long time) {
+        return time / HOURS_4 % 1000;
+    }
+
+    private static PriceSeries day(LocalDate date) {
+        PriceSeries day = new PriceSeries(6);
+        for (int i = 0; i < 6; i++) {
+            long time = time(date, i);
+            day.append(time, 1, 2, 0.5, close(time), 10);
+        }
+        return day;
+    }
+
+    private static PriceSeries series(long... times) {
+        PriceSeries series = new PriceSeries(times.length);
+        for (long time : times) {
+            series.append(time, 1, 2, 0.5, close(time), 10);
+        }
+        return series;
+    }
+
+    private static void assertTimes(CandleSeries series, long... times) {
+        assertEquals(times.length, series.size());
+        for (int i = 0; i < times.length; i++) {
+            assertEquals(times[i], series.getTime(i));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.tradinggame.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.tradinggame.dtos.CandleSeries;
+import com.tradinggame.dtos.Order;
+import com.tradinggame.dtos.OrderType;
+import com.tradinggame.dtos.PriceSeries;
+
+class GameStateTest {
+    private static final LocalDate START = LocalDate.of(2025, 4, 1);
+    private static final LocalDate END = LocalDate.of(2025, 4, 10);
+
+    private GameState game;
+
+    @BeforeEach
+    void startGame() {
+        PriceSeries history = new PriceSeries();
+        for (LocalDate date = START.minusDays(30); !date.isAfter(END); date = date.plusDays(1)) {
+            for (int hour = 0; hour < 24; hour += 4) {
+                history.append(CandleSeries.toEpochMillis(date.atTime(hour, 0)), 100, 100, 100, 100, 10);
+            }
+        }
+        game = new GameState();
+        game.setLogTrades(false);
+        game.setSharedHistories(Map.of("BTCUSDC", history));
+        game.startGame("test", START, END, 1000, 0.001);
+    }
+
+    @Test
+    void crossedOrderThatCannotBeFilledStaysOpenAndCancellable() {
+        game.placeOrder(OrderType.BUY, 100, 50, START);
+        Order order = game.getOpenOrders().get(0);
+        SymbolState state = game.getCurrentSymbolState();
+
+        game.nextDay();
+
+        assertFalse(order.isExecuted());
+        assertEquals(1, game.getOpenOrders().size());
+        assertEquals(1, state.getOrderBook().size());
+
+        game.cancelOrder(order);
+
+        assertTrue(game.getOpenOrders().isEmpty());
+        assertEquals(0, state.getOrderBook().size());
+    }
+
+    @Test
+    void filledOrderLeavesTheBook() {
+        game.placeOrder(OrderType.BUY, 100, 5, START);
+        SymbolState state = game.getCurrentSymbolState();
+
+        game.nextDay();
+
+        assertTrue(game.getOpenOrders().isEmpty());
+        assertEquals(1, game.getExecutedOrders().size());
+        assertEquals(0, state.getOrderBook().size());
+        assertEquals(5, game.getCryptoBalance("BTC"), 1e-9);
+    }
+
+    @Test
+    void openOrdersKeepPlacementOrderWhenOthersFill() {
+        game.placeOrder(OrderType.BUY, 90, 1, START);
+        game.placeOrder(OrderType.BUY, 100, 1, START);
+        game.placeOrder(OrderType.SELL, 110, 1, START.plusDays(1));
+        game.placeOrder(OrderType.BUY, 80, 1, START);
+        List<Order> placed = game.getOpenOrders();
+
+        game.nextDay();
+
+        assertEquals(List.of(placed.get(0), placed.get(2), placed.get(3)), game.getOpenOrders());
+        assertEquals(List.of(placed.get(1)), game.getExecutedOrders());
+        assertEquals(3, game.getCurrentSymbolState().getOrderBook().size());
+    }
+}
\ No newline at end of file